@@ -0,0 +1,48 @@
+package com.epicstuff.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards /api/admin: cache eviction, recorded statements with their bind
+ * values, budgets. With epic.admin.token set, a request must send
+ * "Authorization: Bearer &lt;token&gt;" (401 otherwise). Without a token they
+ * answer 403, unless epic.admin.open waives the token for a local run; no
+ * profile opens them implicitly, as dev is also active on staging boxes.
+ */
+@Component
+public class AdminAccessInterceptor implements HandlerInterceptor {
+
+    @Value("${epic.admin.token:}")
+    private String token;
+
+    @Value("${epic.admin.open:false}")
+    private boolean open;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (token.isBlank()) {
+            if (open) {
+                return true;
+            }
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return false;
+        }
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && MessageDigest.isEqual(("Bearer " + token).getBytes(StandardCharsets.UTF_8),
+                authorization.getBytes(StandardCharsets.UTF_8))) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+        return false;
+    }
+}
@@ -0,0 +1,101 @@
+package com.epicstuff.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Two connection pools behind one routing DataSource.
+ *
+ * spring.datasource.* configures the primary pool, epic.datasource.replica.*
+ * the replica pool. Read-only transactions (@Transactional(readOnly = true),
+ * which also put the Hibernate session in manual flush and read-only mode)
+ * are served by the replica; everything else goes to the primary. Flyway
+ * always migrates through the primary.
+ *
+ * Application statements pass through a datasource-proxy that times them for
+ * SlowQueryLog, counts them per request for StatementCounter and bounds them
+ * by the request deadline in StatementDeadlines; Flyway and the log's own EXPLAIN calls use the pools directly.
+ */
+@Configuration
+@EnableConfigurationProperties(SlowQueryLog.SlowQueryProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("epic.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean(destroyMethod = "close")
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("epic.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    // Plans are captured through the read-only replica pool so EXPLAIN can never write
+    @Bean
+    public SlowQueryLog slowQueryLog(SlowQueryLog.SlowQueryProperties properties,
+                                     @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        return new SlowQueryLog(properties, replicaDataSource);
+    }
+
+    @Bean
+    public StatementCounter statementCounter(@Value("${epic.query-budget.strict:false}") boolean strict) {
+        return new StatementCounter(strict);
+    }
+
+    @Bean
+    public StatementDeadlines statementDeadlines() {
+        return new StatementDeadlines();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 SlowQueryLog slowQueryLog,
+                                 StatementCounter statementCounter,
+                                 StatementDeadlines statementDeadlines) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+            ReadWriteRoutingDataSource.Route.PRIMARY, primaryDataSource,
+            ReadWriteRoutingDataSource.Route.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return ProxyDataSourceBuilder.create(new LazyConnectionDataSourceProxy(routing))
+            .name("epic")
+            .listener(slowQueryLog)
+            .listener(statementCounter)
+            .methodListener(statementDeadlines)
+            .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.epicstuff.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Closes a file-backed H2 database with SHUTDOWN COMPACT, which rewrites the
+ * MVStore file without the pages freed by deletes and updates. Without it the
+ * file only grows across restarts.
+ *
+ * Enabled by epic.h2.compact-on-shutdown (the h2file profile). Runs before the
+ * connection pools close, since it depends on the primary pool.
+ */
+@Component
+@ConditionalOnProperty("epic.h2.compact-on-shutdown")
+public class H2ShutdownCompaction {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @PreDestroy
+    public void compact() {
+        long start = System.nanoTime();
+        boolean compacted = false;
+        try (Connection connection = primaryDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN COMPACT");
+            compacted = true;
+        } catch (SQLException e) {
+            // Once the database is shut down, returning the connection to the pool fails too
+            if (!compacted) {
+                System.err.println("H2 SHUTDOWN COMPACT failed: " + e.getMessage());
+            }
+        }
+        if (compacted) {
+            System.out.println("// [DONE] H2 database compacted in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.epicstuff.config;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageImpl;
 
 @Configuration
 public class JacksonConfig {
@@ -14,12 +17,23 @@ public class JacksonConfig {
     public ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         
-        // Register Hibernate6 module to handle lazy loading proxies
+        // Register Hibernate6 module to handle lazy loading proxies.
+        // Lazy loading is not forced: associations outside the request's ?expand=
+        // fetch plan are written as null instead of being queried by the serializer.
         Hibernate6Module hibernate6Module = new Hibernate6Module();
         hibernate6Module.disable(Hibernate6Module.Feature.USE_TRANSIENT_ANNOTATION);
-        hibernate6Module.enable(Hibernate6Module.Feature.FORCE_LAZY_LOADING);
+        hibernate6Module.disable(Hibernate6Module.Feature.FORCE_LAZY_LOADING);
         mapper.registerModule(hibernate6Module);
+        mapper.registerModule(new SimpleModule().setSerializerModifier(new LazyAttributeSerializerModifier()));
+        // Getter order comes from reflection and may change between JVM runs; pin it to the order
+        // SummaryJsonQueries writes pages in
+        mapper.addMixIn(PageImpl.class, PageOrder.class);
         
         return mapper;
     }
+
+    @JsonPropertyOrder({"content", "pageable", "totalPages", "totalElements", "last", "size", "number", "sort",
+        "numberOfElements", "first", "empty"})
+    private abstract static class PageOrder {
+    }
 }
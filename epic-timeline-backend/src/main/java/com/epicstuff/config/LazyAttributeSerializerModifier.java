@@ -0,0 +1,44 @@
+package com.epicstuff.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import jakarta.persistence.Entity;
+import org.hibernate.Hibernate;
+
+import java.util.List;
+
+/**
+ * Leaves out entity attributes that bytecode enhancement has not loaded yet
+ * (lazy descriptions, untouched lazy collections), so serializing a list row
+ * never triggers a per-row select through the getter.
+ */
+class LazyAttributeSerializerModifier extends BeanSerializerModifier {
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                     List<BeanPropertyWriter> beanProperties) {
+        if (!beanDesc.getBeanClass().isAnnotationPresent(Entity.class)) {
+            return beanProperties;
+        }
+        beanProperties.replaceAll(LoadedOnlyWriter::new);
+        return beanProperties;
+    }
+
+    private static class LoadedOnlyWriter extends BeanPropertyWriter {
+
+        LoadedOnlyWriter(BeanPropertyWriter base) {
+            super(base);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if (Hibernate.isPropertyInitialized(bean, getName())) {
+                super.serializeAsField(bean, gen, prov);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.epicstuff.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most SQL statements one request to the annotated handler may issue,
+ * counting lazy loads triggered while Jackson writes the response.
+ *
+ * A budget is an upper bound with every second-level cache region empty
+ * (entities and collections alike) on a large dataset, so it must not grow
+ * with the number of rows returned; QueryBudgetTest measures it that way. Requests
+ * over budget are reported by QueryBudgetInterceptor, and fail outright
+ * when epic.query-budget.strict is on, as in the tests (QueryBudgetTest).
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
@@ -0,0 +1,109 @@
+package com.epicstuff.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the statements behind every controller request and checks them
+ * against the handler's @QueryBudget. Per-endpoint counts (budgeted or not)
+ * are served by GET /api/admin/query-budgets.
+ *
+ * Async handlers (NDJSON streams) are not counted: their statements run on
+ * another thread after this request thread has been released.
+ */
+@Component
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            QueryBudget budget = method.getMethodAnnotation(QueryBudget.class);
+            statementCounter.begin(endpoint(request), budget == null ? StatementCounter.UNLIMITED : budget.value());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        statementCounter.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(handler instanceof HandlerMethod method) || request.isAsyncStarted()) {
+            return;
+        }
+        int statements = statementCounter.end();
+        QueryBudget budget = method.getMethodAnnotation(QueryBudget.class);
+        String endpoint = endpoint(request);
+        boolean over = budget != null && statements > budget.value();
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointStats(budget == null ? null : budget.value()))
+            .record(statements, over);
+        if (over) {
+            System.err.println("// [WARN] " + endpoint + " issued " + statements + " statements, budget is "
+                + budget.value() + " (" + request.getRequestURI() + ")");
+        }
+    }
+
+    public Map<String, Object> report() {
+        Map<String, Object> report = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> report.put(endpoint, stats.toMap()));
+        return report;
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    // "GET /songs/{id}": the mapping pattern, so every id shares one entry
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    private static final class EndpointStats {
+        private final Integer budget;
+        private long requests;
+        private long overBudget;
+        private int maxStatements;
+        private int lastStatements;
+
+        private EndpointStats(Integer budget) {
+            this.budget = budget;
+        }
+
+        synchronized void record(int statements, boolean over) {
+            requests++;
+            lastStatements = statements;
+            maxStatements = Math.max(maxStatements, statements);
+            if (over) {
+                overBudget++;
+            }
+        }
+
+        synchronized Map<String, Object> toMap() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("budget", budget);
+            stats.put("requests", requests);
+            stats.put("maxStatements", maxStatements);
+            stats.put("lastStatements", lastStatements);
+            stats.put("overBudget", overBudget);
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.epicstuff.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Seconds the annotated handler's request may spend in the database, across
+ * all of its statements. Overrides epic.query-timeout.default; enforced by
+ * StatementDeadlines.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryTimeout {
+
+    int value();
+}
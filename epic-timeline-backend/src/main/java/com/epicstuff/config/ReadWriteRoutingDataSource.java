@@ -0,0 +1,23 @@
+package com.epicstuff.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and
+ * everything else (writes, non-transactional work, schema migration) to the
+ * primary.
+ *
+ * The lookup key is read when a physical connection is first needed, so this
+ * must sit behind a LazyConnectionDataSourceProxy: the transaction manager
+ * asks for a connection before the read-only flag is bound to the thread.
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
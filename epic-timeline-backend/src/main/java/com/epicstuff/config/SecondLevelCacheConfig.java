@@ -0,0 +1,78 @@
+package com.epicstuff.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caffeine-backed JCache regions for Hibernate's second-level cache.
+ *
+ * Every region named in an entity's @Cache must be configured under
+ * epic.cache.regions; Hibernate is set to fail on unknown regions rather than
+ * create unbounded ones.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheConfig.CacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(CacheProperties properties) {
+        // A manager of its own rather than the provider's default, which is shared JVM-wide: a second
+        // application context (a test on another database) would find every region already created
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("epic-timeline:" + UUID.randomUUID()),
+            provider.getDefaultClassLoader());
+        properties.getRegions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @ConfigurationProperties(prefix = "epic.cache")
+    public static class CacheProperties {
+
+        private Map<String, Region> regions = new LinkedHashMap<>();
+
+        public Map<String, Region> getRegions() { return regions; }
+        public void setRegions(Map<String, Region> regions) { this.regions = regions; }
+    }
+
+    public static class Region {
+
+        private long maxSize = 1000;
+        private Duration ttl = Duration.ofHours(1);
+
+        public long getMaxSize() { return maxSize; }
+        public void setMaxSize(long maxSize) { this.maxSize = maxSize; }
+
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+    }
+}
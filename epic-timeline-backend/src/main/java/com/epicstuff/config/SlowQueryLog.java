@@ -0,0 +1,234 @@
+package com.epicstuff.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records statements slower than epic.slow-query.threshold.
+ *
+ * Installed as a datasource-proxy listener on the application DataSource, so
+ * every statement is timed but only slow ones cost anything more: their SQL,
+ * bind values and calling repository method go into a bounded buffer (oldest
+ * dropped first), served by GET /api/admin/slow-queries. The first time a
+ * statement text is seen slow, its EXPLAIN output is captured on a background
+ * thread through the replica pool, never on the caller's connection. At most
+ * MAX_PLANS statement texts are tracked; once one drops out, its next slow
+ * run captures the plan again.
+ */
+public class SlowQueryLog implements QueryExecutionListener {
+
+    // Distinct statement texts whose plan is kept
+    private static final int MAX_PLANS = 256;
+
+    // Plan of a statement whose EXPLAIN is queued or running
+    private static final String PENDING = "EXPLAIN pending";
+
+    // Longer bind values (descriptions, compressed bytes) are cut to this many characters
+    private static final int MAX_VALUE_LENGTH = 200;
+
+    private final SlowQueryProperties properties;
+    private final DataSource explainDataSource;
+    private final Deque<SlowQuery> recent = new ArrayDeque<>();
+    private final AtomicLong recorded = new AtomicLong();
+    // Oldest statement first; holding an entry (PENDING included) is what stops a second EXPLAIN
+    private final Map<String, String> plans = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_PLANS;
+        }
+    });
+    private final ExecutorService explainer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "slow-query-explain");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SlowQueryLog(SlowQueryProperties properties, DataSource explainDataSource) {
+        this.properties = properties;
+        this.explainDataSource = explainDataSource;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < properties.getThreshold().toMillis()) {
+            return;
+        }
+        String caller = caller();
+        for (QueryInfo query : queryInfoList) {
+            List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+            List<Object> parameters = parameterSets.isEmpty() ? List.of() : values(parameterSets.get(0));
+            record(new SlowQuery(Instant.now(), execInfo.getElapsedTime(), query.getQuery(), parameters,
+                parameterSets.size(), caller, execInfo.getDataSourceName(), execInfo.isSuccess()));
+            if (properties.isExplain() && execInfo.isSuccess() && plans.putIfAbsent(query.getQuery(), PENDING) == null) {
+                List<ParameterSetOperation> binds = parameterSets.isEmpty() ? List.of() : parameterSets.get(0);
+                // Not put back if it was dropped (or cleared) in the meantime
+                explainer.execute(() -> plans.replace(query.getQuery(), PENDING, explain(query.getQuery(), binds)));
+            }
+        }
+    }
+
+    // Newest first, each with the plan of its statement when one was captured
+    public List<Map<String, Object>> snapshot() {
+        List<SlowQuery> queries;
+        synchronized (recent) {
+            queries = new ArrayList<>(recent);
+        }
+        List<Map<String, Object>> rows = new ArrayList<>(queries.size());
+        for (SlowQuery query : queries) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("at", query.at().toString());
+            row.put("elapsedMs", query.elapsedMs());
+            row.put("sql", query.sql());
+            row.put("parameters", query.parameters());
+            row.put("batchSize", query.batchSize());
+            row.put("caller", query.caller());
+            row.put("dataSource", query.dataSource());
+            row.put("success", query.success());
+            row.put("plan", plans.get(query.sql()));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    public long getRecordedCount() {
+        return recorded.get();
+    }
+
+    public SlowQueryProperties getProperties() {
+        return properties;
+    }
+
+    // Drops recorded statements, the count and plans; plans are captured again on the next slow run
+    public void clear() {
+        synchronized (recent) {
+            recent.clear();
+        }
+        recorded.set(0);
+        plans.clear();
+    }
+
+    private void record(SlowQuery query) {
+        recorded.incrementAndGet();
+        synchronized (recent) {
+            recent.addFirst(query);
+            while (recent.size() > properties.getCapacity()) {
+                recent.removeLast();
+            }
+        }
+    }
+
+    // The repository method that issued the statement (through its Spring Data proxy), or failing that
+    // the innermost application frame, e.g. a service querying through JdbcTemplate
+    private static String caller() {
+        List<StackWalker.StackFrame> frames = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE)
+            .walk(stack -> stack.filter(frame -> isApplicationFrame(frame.getDeclaringClass())).toList());
+        for (StackWalker.StackFrame frame : frames) {
+            if (Proxy.isProxyClass(frame.getDeclaringClass())) {
+                return repositoryOf(frame.getDeclaringClass()).getSimpleName() + "." + frame.getMethodName();
+            }
+        }
+        return frames.isEmpty() ? null
+            : frames.get(0).getDeclaringClass().getSimpleName() + "." + frames.get(0).getMethodName();
+    }
+
+    private static boolean isApplicationFrame(Class<?> type) {
+        if (Proxy.isProxyClass(type)) {
+            return repositoryOf(type) != null;
+        }
+        return type.getName().startsWith("com.epicstuff.") && !type.getName().startsWith("com.epicstuff.config.");
+    }
+
+    private static Class<?> repositoryOf(Class<?> proxy) {
+        for (Class<?> contract : proxy.getInterfaces()) {
+            if (contract.getName().startsWith("com.epicstuff.repository.")) {
+                return contract;
+            }
+        }
+        return null;
+    }
+
+    private static List<Object> values(List<ParameterSetOperation> operations) {
+        List<Object> values = new ArrayList<>(operations.size());
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            Object value = ParameterSetOperation.isSetNullParameterOperation(operation) ? null : args[1];
+            if (value instanceof byte[] bytes) {
+                value = "<" + bytes.length + " bytes>";
+            } else if (value != null && !(value instanceof Number) && !(value instanceof Boolean)) {
+                String text = value.toString();
+                value = text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) + "..." : text;
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    // Plain EXPLAIN (never ANALYZE): the statement is planned with the recorded binds, not executed
+    private String explain(String sql, List<ParameterSetOperation> binds) {
+        try (Connection connection = explainDataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (ParameterSetOperation bind : binds) {
+                Object[] args = bind.getArgs();
+                if (ParameterSetOperation.isSetNullParameterOperation(bind)) {
+                    statement.setNull((Integer) args[0], (Integer) args[1]);
+                } else {
+                    statement.setObject((Integer) args[0], args[1]);
+                }
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(plan.length() == 0 ? "" : "\n").append(rows.getString(1));
+                }
+            }
+            return plan.toString();
+        } catch (Exception e) {
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private record SlowQuery(Instant at, long elapsedMs, String sql, List<Object> parameters,
+                             int batchSize, String caller, String dataSource, boolean success) {}
+
+    @ConfigurationProperties(prefix = "epic.slow-query")
+    public static class SlowQueryProperties {
+
+        private Duration threshold = Duration.ofMillis(200);
+        private int capacity = 100;
+        private boolean explain = true;
+
+        public Duration getThreshold() { return threshold; }
+        public void setThreshold(Duration threshold) { this.threshold = threshold; }
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+
+        public boolean isExplain() { return explain; }
+        public void setExplain(boolean explain) { this.explain = explain; }
+    }
+}
@@ -0,0 +1,71 @@
+package com.epicstuff.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Counts statements executed on the current thread between begin() and end().
+ *
+ * Registered on the application DataSource next to SlowQueryLog; a JDBC batch
+ * counts once, as it is one round trip. In strict mode the statement that
+ * would go over the budget is refused before it reaches the database.
+ */
+public class StatementCounter implements QueryExecutionListener {
+
+    // No budget: count only
+    public static final int UNLIMITED = -1;
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private final boolean strict;
+
+    public StatementCounter(boolean strict) {
+        this.strict = strict;
+    }
+
+    public void begin(String label, int budget) {
+        CURRENT.set(new Scope(label, budget));
+    }
+
+    // Statements counted since begin(), or 0 when nothing was being counted
+    public int end() {
+        Scope scope = CURRENT.get();
+        CURRENT.remove();
+        return scope == null ? 0 : scope.count;
+    }
+
+    public boolean isStrict() {
+        return strict;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        scope.count++;
+        if (strict && scope.budget != UNLIMITED && scope.count > scope.budget) {
+            throw new IllegalStateException(scope.label + " exceeded its query budget of " + scope.budget
+                + " statements, refused: " + queryInfoList.get(0).getQuery());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    private static final class Scope {
+        private final String label;
+        private final int budget;
+        private int count;
+
+        private Scope(String label, int budget) {
+            this.label = label;
+            this.budget = budget;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.epicstuff.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Gives every controller request a database deadline: the handler's
+ * @QueryTimeout, or epic.query-timeout.default. The default stays below the
+ * mobile client's 10 s fetch timeout, so by the time the client gives up and
+ * retries, the statements of the abandoned attempt have been cancelled and
+ * its connection is back in the pool. The container does not report a closed
+ * connection until the response is written, so the deadline is what bounds an
+ * abandoned request.
+ *
+ * Async work (NDJSON and JSON streams) has no deadline of its own; its
+ * statements are cancelled when the container times the request out
+ * (spring.mvc.async.request-timeout) or reports an error on it.
+ */
+@Component
+public class StatementDeadlineInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+
+    private static final String STREAM_SCOPE = StatementDeadlineInterceptor.class.getName() + ".STREAM_SCOPE";
+
+    @Autowired
+    private StatementDeadlines statementDeadlines;
+
+    @Value("${epic.query-timeout.default:8s}")
+    private Duration defaultTimeout;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            QueryTimeout timeout = method.getMethodAnnotation(QueryTimeout.class);
+            statementDeadlines.open(timeout == null ? defaultTimeout : Duration.ofSeconds(timeout.value()));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        statementDeadlines.close();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        statementDeadlines.close();
+    }
+
+    // Stream bodies run as Callables on the MVC async executor
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        request.setAttribute(STREAM_SCOPE, statementDeadlines.open(null), RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        statementDeadlines.close();
+    }
+
+    @Override
+    public <T> Object handleTimeout(NativeWebRequest request, Callable<T> task) {
+        cancelStream(request);
+        return RESULT_NONE;
+    }
+
+    @Override
+    public <T> Object handleError(NativeWebRequest request, Callable<T> task, Throwable t) {
+        cancelStream(request);
+        return RESULT_NONE;
+    }
+
+    private void cancelStream(NativeWebRequest request) {
+        Object scope = request.getAttribute(STREAM_SCOPE, RequestAttributes.SCOPE_REQUEST);
+        if (scope instanceof StatementDeadlines.Scope stream) {
+            stream.cancel();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.epicstuff.config;
+
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounds the database time of the work bound to the current thread.
+ *
+ * Before each statement executes, the time left until the scope's deadline
+ * becomes its JDBC query timeout, so the driver cancels it on the server when
+ * time runs out; once the deadline has passed, further statements are refused
+ * without reaching the database. Applied at the JDBC level rather than as a JPA
+ * query hint so that find(), lazy loads and JdbcTemplate reads are bounded too.
+ *
+ * A scope can also be cancelled from another thread, which cancels whatever it
+ * is executing; StatementDeadlineInterceptor does that for streams the
+ * container has given up on. A statement counts as running until it is
+ * closed (closing its ResultSet with it), not just while execute runs: a
+ * cursor read (a stream with a fetch size) spends its time fetching rows in
+ * ResultSet.next(), and cancelling the statement is what stops that fetch.
+ */
+public class StatementDeadlines implements MethodExecutionListener {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    // A null timeout opens a scope that can only be cancelled
+    public Scope open(Duration timeout) {
+        Scope scope = new Scope(timeout == null ? 0 : System.nanoTime() + timeout.toNanos());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public void close() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+        Scope scope = CURRENT.get();
+        if (scope != null && executionContext.getTarget() instanceof Statement statement
+                && executionContext.getMethod().getName().startsWith("execute")) {
+            scope.beforeExecute(statement);
+        }
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        Scope scope = CURRENT.get();
+        if (scope != null && executionContext.getTarget() instanceof Statement statement
+                && executionContext.getMethod().getName().equals("close")) {
+            scope.running.remove(statement);
+        }
+    }
+
+    public static final class Scope {
+
+        // System.nanoTime() deadline, 0 for none
+        private final long deadline;
+        private final Set<Statement> running = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelled;
+
+        private Scope(long deadline) {
+            this.deadline = deadline;
+        }
+
+        // Stops the statements in flight or being read, if any, and refuses the ones after them
+        public void cancel() {
+            cancelled = true;
+            for (Statement statement : running) {
+                try {
+                    statement.cancel();
+                } catch (SQLException e) {
+                    // Already finished or closed
+                }
+            }
+        }
+
+        private void beforeExecute(Statement statement) {
+            if (cancelled) {
+                throw new QueryTimeoutException("Request was cancelled, statement not executed");
+            }
+            if (deadline != 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new QueryTimeoutException("Request deadline passed, statement not executed");
+                }
+                // JDBC timeouts are whole seconds; round up so a short remainder doesn't become "no timeout"
+                int seconds = (int) ((remaining + 999_999_999L) / 1_000_000_000L);
+                try {
+                    if (statement.getQueryTimeout() == 0 || statement.getQueryTimeout() > seconds) {
+                        statement.setQueryTimeout(seconds);
+                    }
+                } catch (SQLException e) {
+                    throw new QueryTimeoutException("Could not apply the request deadline", e);
+                }
+            }
+            running.add(statement);
+        }
+    }
+}
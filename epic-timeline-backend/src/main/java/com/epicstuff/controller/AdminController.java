@@ -0,0 +1,131 @@
+package com.epicstuff.controller;
+
+import com.epicstuff.config.QueryBudgetInterceptor;
+import com.epicstuff.config.SlowQueryLog;
+import com.epicstuff.service.CatalogVersions;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private QueryBudgetInterceptor queryBudgetInterceptor;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    // // [DONE] GET /api/admin/cache - Second-level cache hit/miss counts per region
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> regions = new TreeMap<>();
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("hits", region.getHitCount());
+            stats.put("misses", region.getMissCount());
+            stats.put("puts", region.getPutCount());
+            stats.put("hitRatio", hitRatio(region.getHitCount(), region.getMissCount()));
+            stats.put("size", size(name));
+            regions.put(name, stats);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("hits", statistics.getSecondLevelCacheHitCount());
+        response.put("misses", statistics.getSecondLevelCacheMissCount());
+        response.put("puts", statistics.getSecondLevelCachePutCount());
+        response.put("hitRatio", hitRatio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()));
+        response.put("regions", regions);
+        return ResponseEntity.ok(response);
+    }
+
+    // // [DONE] DELETE /api/admin/cache - Evict every region, e.g. after editing data directly in the database
+    // Also moves the catalog ETags on, so clients revalidating the listings get the edited data
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> evictCache() {
+        // JPA's Cache.evictAll() would leave the collection regions (genres, aliases, ...) in place
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        catalogVersions.bumpAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    // // [DONE] GET /api/admin/slow-queries - Statements over epic.slow-query.threshold, newest first,
+    // with bind values, calling repository method and the EXPLAIN captured the first time each was seen
+    @GetMapping("/slow-queries")
+    public ResponseEntity<Map<String, Object>> getSlowQueries() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("thresholdMs", slowQueryLog.getProperties().getThreshold().toMillis());
+        response.put("capacity", slowQueryLog.getProperties().getCapacity());
+        response.put("recorded", slowQueryLog.getRecordedCount());
+        response.put("queries", slowQueryLog.snapshot());
+        return ResponseEntity.ok(response);
+    }
+
+    // // [DONE] DELETE /api/admin/slow-queries - Clear recorded statements and captured plans
+    @DeleteMapping("/slow-queries")
+    public ResponseEntity<Void> clearSlowQueries() {
+        slowQueryLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    // // [DONE] GET /api/admin/query-budgets - Statements per request for each endpoint against its @QueryBudget
+    @GetMapping("/query-budgets")
+    public ResponseEntity<Map<String, Object>> getQueryBudgets() {
+        return ResponseEntity.ok(queryBudgetInterceptor.report());
+    }
+
+    // // [DONE] DELETE /api/admin/query-budgets - Reset the per-endpoint counts
+    @DeleteMapping("/query-budgets")
+    public ResponseEntity<Void> resetQueryBudgets() {
+        queryBudgetInterceptor.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    // // [DONE] GET /api/admin/response-cache - Cached listing bodies: size, hit ratio and bytes saved by gzip
+    @GetMapping("/response-cache")
+    public ResponseEntity<Map<String, Object>> getResponseCache() {
+        return ResponseEntity.ok(responseCache.stats());
+    }
+
+    // // [DONE] DELETE /api/admin/response-cache - Drop cached bodies; the next request for each listing rebuilds it
+    @DeleteMapping("/response-cache")
+    public ResponseEntity<Void> clearResponseCache() {
+        responseCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    // JCache regions don't report their size through Hibernate statistics, so ask Caffeine directly
+    private long size(String region) {
+        Cache<Object, Object> cache = hibernateCacheManager.getCache(region);
+        return cache == null ? 0 : cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        return hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+    }
+}
@@ -0,0 +1,24 @@
+package com.epicstuff.controller;
+
+// Strong ETags built from an entity's @Version, and the matching If-Match parsing for updates
+final class EntityTags {
+
+    private EntityTags() {}
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Version the client last saw, or null when If-Match is absent or "*" (any current version).
+    // Weak or malformed tags can never match, so they throw and the update is refused with 412.
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("Unsupported If-Match: " + ifMatch);
+        }
+        return Long.valueOf(tag.substring(1, tag.length() - 1));
+    }
+}
@@ -0,0 +1,71 @@
+package com.epicstuff.controller;
+
+import com.epicstuff.config.QueryBudget;
+import com.epicstuff.config.QueryTimeout;
+import com.epicstuff.model.Event;
+import com.epicstuff.repository.DetailPlans;
+import com.epicstuff.repository.FetchPlan;
+import com.epicstuff.repository.FetchPlanLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/events")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
+public class EventController {
+
+    private static final Set<String> EXPANDABLE = Set.of("location", "saga", "characters", "songs");
+
+    private static final FetchPlan DETAIL_PLAN = DetailPlans.EVENT.and("description");
+
+    @Autowired
+    private FetchPlanLoader fetchPlanLoader;
+
+    // // [DONE] GET /api/events - List events, optionally for one saga
+    // Event rows only, unless ?expand=location,saga,characters,songs asks for more
+    @QueryBudget(3)
+    @GetMapping
+    public ResponseEntity<List<Event>> getAllEvents(
+            @RequestParam(required = false) Long sagaId,
+            @RequestParam(required = false) String expand
+    ) {
+        FetchPlan plan;
+        try {
+            plan = FetchPlan.parse(expand, EXPANDABLE, FetchPlan.NONE);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Event> events = sagaId != null
+            ? fetchPlanLoader.findAllBy(Event.class, "saga.id", sagaId, plan)
+            : fetchPlanLoader.findAll(Event.class, plan);
+        return ResponseEntity.ok(events);
+    }
+
+    // // [DONE] GET /api/events/{id} - Get event with its relationships
+    // Location, saga, characters and songs come with what they embed in turn; ?expand= narrows the list
+    // Nested sagas and characters are usually the instances already loaded, so far fewer
+    // statements than plan paths
+    @QueryBudget(17)
+    @QueryTimeout(2)
+    @GetMapping("/{id}")
+    public ResponseEntity<Event> getEventById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String expand
+    ) {
+        FetchPlan plan;
+        try {
+            plan = FetchPlan.parse(expand, DETAIL_PLAN);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<Event> event = fetchPlanLoader.findById(Event.class, id, plan);
+        return event.map(e -> ResponseEntity.ok().eTag(EntityTags.of(e.getVersion())).body(e))
+                   .orElse(ResponseEntity.notFound().build());
+    }
+}
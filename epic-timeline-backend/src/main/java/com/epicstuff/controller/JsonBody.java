@@ -0,0 +1,30 @@
+package com.epicstuff.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// JSON response body written directly with a JsonGenerator (see SummaryJsonQueries)
+final class JsonBody {
+
+    interface Content {
+        void writeTo(JsonGenerator json) throws IOException;
+    }
+
+    private JsonBody() {}
+
+    static ResponseEntity<byte[]> of(ObjectMapper objectMapper, Content content) {
+        ByteArrayBuilder buffer = new ByteArrayBuilder();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(buffer)) {
+            content.writeTo(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(buffer.toByteArray());
+    }
+}
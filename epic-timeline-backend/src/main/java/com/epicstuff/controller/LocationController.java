@@ -1,58 +1,186 @@
 package com.epicstuff.controller;
 
+import com.epicstuff.config.QueryBudget;
+import com.epicstuff.config.QueryTimeout;
+import com.epicstuff.dto.KeysetPage;
+import com.epicstuff.dto.LocationSummary;
 import com.epicstuff.model.Location;
+import com.epicstuff.repository.DetailPlans;
+import com.epicstuff.repository.FetchPlan;
+import com.epicstuff.repository.FetchPlanLoader;
+import com.epicstuff.repository.FieldSet;
 import com.epicstuff.repository.LocationRepository;
+import com.epicstuff.repository.SummaryJsonQueries;
+import com.epicstuff.service.CatalogVersions;
+import com.epicstuff.service.SummaryStreamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/locations")
-@CrossOrigin(origins = "*", allowCredentials = "false")
+@CrossOrigin(origins = "*", allowCredentials = "false", exposedHeaders = HttpHeaders.ETAG)
 public class LocationController {
 
+    private static final Set<String> EXPANDABLE = Set.of("saga", "events", "alternativeNames", "notableFeatures");
+
+    // Detail view: the location's events with everything they embed
+    private static final FetchPlan DETAIL_PLAN = DetailPlans.LOCATION;
+
+    // Search results: the top-level associations only
+    private static final FetchPlan SEARCH_PLAN = FetchPlan.of("saga", "events", "alternativeNames", "notableFeatures");
+
     @Autowired
     private LocationRepository locationRepository;
 
+    @Autowired
+    private FetchPlanLoader fetchPlanLoader;
+
+    @Autowired
+    private SummaryStreamService summaryStreamService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SummaryJsonQueries summaryJsonQueries;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    // Serve the default listing straight from JDBC rows instead of LocationSummary records
+    @Value("${epic.fast-json.locations:false}")
+    private boolean fastJson;
+
     // // [DONE] GET /api/locations - List all locations
+    // Summary rows by default; ?expand= returns locations with just the named associations.
+    // The map screen polls ?fields=name,latitude,longitude, which selects only those columns.
+    // Conditional (304 until a location or saga changes) and served from ResponseCache between writes
+    @QueryBudget(4)
     @GetMapping
-    public ResponseEntity<List<Location>> getAllLocations() {
-        List<Location> locations = locationRepository.findAll();
+    public ResponseEntity<?> getAllLocations(
+            @RequestParam(required = false) String expand,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
+    ) {
+        FetchPlan plan;
+        FieldSet fieldSet;
+        try {
+            plan = FetchPlan.parse(expand, EXPANDABLE);
+            fieldSet = FieldSet.parse(fields, LocationRepository.FIELDS);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return responseCache.serve(webRequest, () -> listLocations(plan, fieldSet),
+            CatalogVersions.LOCATIONS, CatalogVersions.SAGAS);
+    }
+
+    private ResponseEntity<?> listLocations(FetchPlan plan, FieldSet fieldSet) {
+        if (fieldSet != null) {
+            return plan == null ? ResponseEntity.ok(locationRepository.findAllFields(fieldSet))
+                                : ResponseEntity.badRequest().build();
+        }
+        if (plan != null && !plan.isEmpty()) {
+            return ResponseEntity.ok(fetchPlanLoader.findAll(Location.class, plan));
+        }
+        if (fastJson) {
+            return JsonBody.of(objectMapper, summaryJsonQueries::writeLocations);
+        }
+        List<LocationSummary> locations = locationRepository.findAllSummaries();
         return ResponseEntity.ok(locations);
     }
 
+    // // [DONE] GET /api/locations with Accept: application/x-ndjson - Stream summary rows as they are read
+    @GetMapping(produces = NdjsonStream.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamAllLocations() {
+        return NdjsonStream.of(objectMapper, summaryStreamService::forEachLocation);
+    }
+
+    // // [DONE] GET /api/locations/seek - Cursor (keyset) paging by id or name
+    @QueryBudget(5)
+    @GetMapping("/seek")
+    public ResponseEntity<KeysetPage<Location>> seekLocations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String expand
+    ) {
+        try {
+            FetchPlan plan = FetchPlan.parse(expand, EXPANDABLE, FetchPlan.NONE);
+            return ResponseEntity.ok(fetchPlanLoader.fetch(Location.class,
+                () -> locationRepository.findPageAfter(sortBy, Sort.Direction.fromString(sortDir), cursor, size),
+                KeysetPage::content, plan));
+        } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // // [DONE] GET /api/locations/{id} - Get location by ID
+    @QueryBudget(16)
+    @QueryTimeout(2)
     @GetMapping("/{id}")
-    public ResponseEntity<Location> getLocationById(@PathVariable Long id) {
-        Optional<Location> location = locationRepository.findById(id);
+    public ResponseEntity<Location> getLocationById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String expand
+    ) {
+        FetchPlan plan;
+        try {
+            plan = FetchPlan.parse(expand, DETAIL_PLAN);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<Location> location = fetchPlanLoader.findById(Location.class, id, plan);
         if (location.isPresent()) {
-            return ResponseEntity.ok(location.get());
+            return ResponseEntity.ok().eTag(EntityTags.of(location.get().getVersion())).body(location.get());
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
     // // [DONE] GET /api/locations/search - Simple search by name
+    @QueryBudget(5)
     @GetMapping("/search")
-    public ResponseEntity<List<Location>> searchLocations(@RequestParam String name) {
-        List<Location> locations = locationRepository.findByNameContainingIgnoreCase(name);
-        return ResponseEntity.ok(locations);
+    public ResponseEntity<List<Location>> searchLocations(
+            @RequestParam String name,
+            @RequestParam(required = false) String expand
+    ) {
+        return withPlan(() -> locationRepository.findByNameContainingIgnoreCase(name), expand);
     }
 
     // // [DONE] GET /api/locations/real - Get real places only
+    @QueryBudget(5)
     @GetMapping("/real")
-    public ResponseEntity<List<Location>> getRealPlaces() {
-        List<Location> locations = locationRepository.findByIsRealPlace(true);
-        return ResponseEntity.ok(locations);
+    public ResponseEntity<List<Location>> getRealPlaces(@RequestParam(required = false) String expand) {
+        return withPlan(() -> locationRepository.findByIsRealPlace(true), expand);
     }
 
     // // [DONE] GET /api/locations/mythological - Get mythological places only
+    @QueryBudget(5)
     @GetMapping("/mythological")
-    public ResponseEntity<List<Location>> getMythologicalPlaces() {
-        List<Location> locations = locationRepository.findByIsMythological(true);
-        return ResponseEntity.ok(locations);
+    public ResponseEntity<List<Location>> getMythologicalPlaces(@RequestParam(required = false) String expand) {
+        return withPlan(() -> locationRepository.findByIsMythological(true), expand);
+    }
+
+    // Run a derived query and apply ?expand= (or the search plan) in the same transaction
+    private ResponseEntity<List<Location>> withPlan(Supplier<List<Location>> query, String expand) {
+        try {
+            FetchPlan plan = FetchPlan.parse(expand, EXPANDABLE, SEARCH_PLAN);
+            return ResponseEntity.ok(fetchPlanLoader.fetch(Location.class, query, plan));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
@@ -0,0 +1,56 @@
+package com.epicstuff.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Newline-delimited JSON responses written while the rows are being read.
+ *
+ * The row source runs on the MVC async thread once the handler has returned, so it
+ * must open its own (read-only) transaction around the cursor.
+ */
+final class NdjsonStream {
+
+    static final String MEDIA_TYPE = "application/x-ndjson";
+
+    // Rows between flushes of the response buffer
+    private static final int FLUSH_EVERY = 100;
+
+    interface RowSource {
+        void forEach(Consumer<Object> action);
+    }
+
+    private NdjsonStream() {}
+
+    static ResponseEntity<StreamingResponseBody> of(ObjectMapper objectMapper, RowSource source) {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                int[] written = {0};
+                source.forEach(row -> {
+                    try {
+                        writer.writeValue(generator, row);
+                        generator.writeRaw('\n');
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(MEDIA_TYPE)).body(body);
+    }
+}
@@ -0,0 +1,178 @@
+package com.epicstuff.controller;
+
+import com.epicstuff.service.CatalogVersions;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Finished JSON bodies of the catalog listings, kept as immutable byte arrays
+ * next to a gzip copy of the same bytes.
+ *
+ * Entries are keyed by the catalog tag of the collections a listing renders,
+ * the request path and its normalized query, so a hit needs neither a query
+ * nor Jackson, and a write (CatalogVersions.Changed) drops every entry that
+ * rendered the changed collection. The stored array is handed to the response
+ * as is, compressed up front when the client accepts gzip. Bounded by
+ * epic.response-cache.max-size; counters are served by GET /api/admin/response-cache.
+ */
+@Component
+final class ResponseCache {
+
+    private static final String GZIP = "gzip";
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${epic.response-cache.max-size:32MB}")
+    private DataSize maxSize;
+
+    private Cache<String, Entry> entries;
+    private final AtomicLong servedBytes = new AtomicLong();
+    private final AtomicLong gzipSavedBytes = new AtomicLong();
+
+    private record Entry(List<String> collections, byte[] identity, byte[] gzip) {}
+
+    @PostConstruct
+    void init() {
+        entries = Caffeine.newBuilder()
+            .maximumWeight(maxSize.toBytes())
+            .weigher((String key, Entry entry) -> entry.identity().length + (entry.gzip() == null ? 0 : entry.gzip().length))
+            .recordStats()
+            .build();
+    }
+
+    // 304 when the client's copy is current, else the cached body, else the handler's response (cached when 200).
+    // Returns null after a 304 has been sent.
+    ResponseEntity<?> serve(WebRequest request, Supplier<ResponseEntity<?>> handler, String... collections) {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String tag = catalogVersions.tag(collections);
+        // The gzip variant is a different representation, so it gets its own strong tag
+        if (request.checkNotModified("\"" + tag + (gzip ? "-gzip" : "") + "\"", catalogVersions.lastModified(collections))) {
+            return null;
+        }
+        String key = tag + " " + pathAndQuery(request);
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            ResponseEntity<?> response = handler.get();
+            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                return response;
+            }
+            entry = entryOf(collections, response.getBody());
+            entries.put(key, entry);
+        }
+        return respond(entry, gzip);
+    }
+
+    Map<String, Object> stats() {
+        CacheStats stats = entries.stats();
+        long bytes = entries.asMap().values().stream()
+            .mapToLong(entry -> entry.identity().length + (entry.gzip() == null ? 0 : entry.gzip().length))
+            .sum();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("entries", entries.estimatedSize());
+        response.put("bytes", bytes);
+        response.put("maxBytes", maxSize.toBytes());
+        response.put("hits", stats.hitCount());
+        response.put("misses", stats.missCount());
+        response.put("hitRatio", stats.hitRate());
+        response.put("evictions", stats.evictionCount());
+        response.put("servedBytes", servedBytes.get());
+        response.put("gzipSavedBytes", gzipSavedBytes.get());
+        return response;
+    }
+
+    void clear() {
+        entries.invalidateAll();
+    }
+
+    @EventListener
+    void onCatalogChanged(CatalogVersions.Changed changed) {
+        entries.asMap().values().removeIf(entry -> entry.collections().stream().anyMatch(changed.collections()::contains));
+    }
+
+    private ResponseEntity<byte[]> respond(Entry entry, boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip && entry.gzip() != null) {
+            servedBytes.addAndGet(entry.gzip().length);
+            gzipSavedBytes.addAndGet(entry.identity().length - entry.gzip().length);
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(entry.gzip());
+        }
+        servedBytes.addAndGet(entry.identity().length);
+        return response.body(entry.identity());
+    }
+
+    private Entry entryOf(String[] collections, Object body) {
+        byte[] identity;
+        try {
+            // JsonBody responses are already bytes; entity and DTO bodies are written as the message converter would
+            identity = body instanceof byte[] bytes ? bytes : objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] gzip = gzip(identity);
+        return new Entry(List.of(collections), identity, gzip.length < identity.length ? gzip : null);
+    }
+
+    private static byte[] gzip(byte[] identity) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(identity.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(identity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    // Parameters sorted by name, so ?sagaId=1&expand=saga and ?expand=saga&sagaId=1 share an entry
+    private static String pathAndQuery(WebRequest request) {
+        StringBuilder key = new StringBuilder(request.getDescription(false));
+        char separator = '?';
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            key.append(separator).append(parameter.getKey()).append('=').append(String.join(",", parameter.getValue()));
+            separator = '&';
+        }
+        return key.toString();
+    }
+
+    // "gzip" listed without q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        return Arrays.stream(acceptEncoding.split(","))
+            .map(coding -> coding.trim().toLowerCase().split(";"))
+            .anyMatch(coding -> coding[0].trim().equals(GZIP)
+                && (coding.length == 1 || !coding[1].replace(" ", "").matches("q=0(\\.0*)?")));
+    }
+}
@@ -1,10 +1,34 @@
 package com.epicstuff.controller;
 
+import com.epicstuff.config.QueryBudget;
+import com.epicstuff.config.QueryTimeout;
+import com.epicstuff.dto.CharacterSummary;
+import com.epicstuff.dto.EventSummary;
+import com.epicstuff.dto.KeysetPage;
+import com.epicstuff.dto.LocationSummary;
+import com.epicstuff.dto.SagaFilterRequest;
+import com.epicstuff.dto.SagaSummary;
+import com.epicstuff.dto.SongSummary;
+import com.epicstuff.dto.SagaUpdateRequest;
 import com.epicstuff.model.Saga;
+import com.epicstuff.repository.DetailPlans;
+import com.epicstuff.repository.FetchPlan;
+import com.epicstuff.repository.FetchPlanLoader;
+import com.epicstuff.repository.FieldSet;
 import com.epicstuff.repository.SagaRepository;
+import com.epicstuff.repository.SummaryJsonQueries;
+import com.epicstuff.service.CatalogVersions;
+import com.epicstuff.service.SagaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -13,35 +37,151 @@ import java.util.*;
 
 @RestController
 @RequestMapping("/sagas")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 public class SagaController {
 
+    private static final Set<String> EXPANDABLE = Set.of("genres", "themes", "inspirations");
+
+    private static final FetchPlan DETAIL_PLAN = DetailPlans.SAGA;
+
     @Autowired
     private SagaRepository sagaRepository;
 
+    @Autowired
+    private FetchPlanLoader fetchPlanLoader;
+
+    @Autowired
+    private SagaService sagaService;
+
+    @Autowired
+    private SummaryJsonQueries summaryJsonQueries;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Serve unfiltered summary pages straight from JDBC rows instead of SagaSummary records
+    @Value("${epic.fast-json.sagas:false}")
+    private boolean fastJson;
+
+    // Summary rows by default; ?expand=genres,themes,inspirations returns sagas with those collections,
+    // ?fields=title,releaseDate returns only those columns.
+    // Conditional (304 until a saga changes) and served from ResponseCache between writes
+    @QueryBudget(5)
     @GetMapping
-    public ResponseEntity<Page<Saga>> getAllSagas(
+    public ResponseEntity<?> getAllSagas(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String expand,
+            @RequestParam(required = false) String fields,
+            SagaFilterRequest filter,
+            WebRequest webRequest
     ) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : 
             Sort.by(sortBy).ascending();
         
         PageRequest pageRequest = PageRequest.of(page, size, sort);
-        Page<Saga> sagas = sagaRepository.findAll(pageRequest);
+        try {
+            FieldSet fieldSet = FieldSet.parse(fields, SagaRepository.FIELDS);
+            FetchPlan plan = FetchPlan.parse(expand, EXPANDABLE);
+            return responseCache.serve(webRequest, () -> listSagas(filter, pageRequest, plan, fieldSet),
+                CatalogVersions.SAGAS);
+        } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+            // Unknown sortBy attribute, expansion or field
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ResponseEntity<?> listSagas(SagaFilterRequest filter, PageRequest pageRequest, FetchPlan plan, FieldSet fieldSet) {
+        if (fieldSet != null) {
+            if (plan != null) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(sagaRepository.findFieldsWithFilter(filter, pageRequest, fieldSet));
+        }
+        if (plan != null && !plan.isEmpty()) {
+            return ResponseEntity.ok(fetchPlanLoader.fetch(Saga.class,
+                () -> sagaRepository.findAllWithFilter(filter, pageRequest), Page::getContent, plan));
+        }
+        if (fastJson && !filter.hasCriteria() && summaryJsonQueries.supportsSagaSort(pageRequest.getSort())) {
+            return JsonBody.of(objectMapper, json -> summaryJsonQueries.writeSagaPage(pageRequest, json));
+        }
+        // Filter query params (genre, theme, releasedAfter...) are applied in SQL
+        Page<SagaSummary> sagas = sagaRepository.findSummariesWithFilter(filter, pageRequest);
         return ResponseEntity.ok(sagas);
     }
     
+    // Cursor (keyset) paging: no count query, constant cost for deep pages; the page plus one
+    // statement per expanded collection
+    @QueryBudget(4)
+    @GetMapping("/seek")
+    public ResponseEntity<KeysetPage<Saga>> seekSagas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String expand
+    ) {
+        try {
+            FetchPlan plan = FetchPlan.parse(expand, EXPANDABLE, FetchPlan.NONE);
+            return ResponseEntity.ok(fetchPlanLoader.fetch(Saga.class,
+                () -> sagaRepository.findPageAfter(sortBy, Sort.Direction.fromString(sortDir), cursor, size),
+                KeysetPage::content, plan));
+        } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // The saga, then one statement per collection (genres, themes, inspirations) unless cached
+    @QueryBudget(4)
+    @QueryTimeout(2)
     @GetMapping("/{id}")
-    public ResponseEntity<Saga> getSagaById(@PathVariable Long id) {
-        Optional<Saga> saga = sagaRepository.findById(id);
-        return saga.map(ResponseEntity::ok)
+    public ResponseEntity<Saga> getSagaById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String expand
+    ) {
+        FetchPlan plan;
+        try {
+            plan = FetchPlan.parse(expand, DETAIL_PLAN);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<Saga> saga = fetchPlanLoader.findById(Saga.class, id, plan);
+        return saga.map(s -> ResponseEntity.ok().eTag(EntityTags.of(s.getVersion())).body(s))
                   .orElse(ResponseEntity.notFound().build());
     }
 
+    // Partial update; send the ETag from GET as If-Match to get 412 instead of overwriting someone else's edit
+    @PutMapping("/{id}")
+    public ResponseEntity<Saga> updateSaga(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody SagaUpdateRequest request
+    ) {
+        Long expectedVersion;
+        try {
+            expectedVersion = EntityTags.expectedVersion(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        try {
+            Optional<Saga> saga = sagaService.updateSaga(id, request, expectedVersion, DETAIL_PLAN);
+            return saga.map(s -> ResponseEntity.ok().eTag(EntityTags.of(s.getVersion())).body(s))
+                      .orElse(ResponseEntity.notFound().build());
+        } catch (OptimisticLockingFailureException e) {
+            // Stale If-Match, or another writer committed first: the client re-reads and retries
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @QueryBudget(1)
     @GetMapping("/{id}/stats")
     public ResponseEntity<Map<String, Object>> getSagaStats(@PathVariable Long id) {
         Optional<Saga> saga = sagaRepository.findById(id);
@@ -58,27 +198,66 @@ public class SagaController {
         return ResponseEntity.notFound().build();
     }
 
+    // Paged sub-resources: each page and its total come from one query (COUNT(*) OVER ())
+    @QueryBudget(2)
+    @QueryTimeout(2)
     @GetMapping("/{id}/characters")
-    public ResponseEntity<List<Object>> getSagaCharacters(@PathVariable Long id) {
-        // Return empty list for now
-        return ResponseEntity.ok(new ArrayList<>());
+    public ResponseEntity<Page<CharacterSummary>> getSagaCharacters(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            return ResponseEntity.of(sagaService.findCharacters(id, PageRequest.of(page, size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
+    // Ordered by track number
+    @QueryBudget(2)
+    @QueryTimeout(2)
     @GetMapping("/{id}/songs")
-    public ResponseEntity<List<Object>> getSagaSongs(@PathVariable Long id) {
-        // Return empty list for now
-        return ResponseEntity.ok(new ArrayList<>());
+    public ResponseEntity<Page<SongSummary>> getSagaSongs(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            return ResponseEntity.of(sagaService.findSongs(id, PageRequest.of(page, size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
+    // Ordered by sequence order
+    @QueryBudget(2)
+    @QueryTimeout(2)
     @GetMapping("/{id}/events")
-    public ResponseEntity<List<Object>> getSagaEvents(@PathVariable Long id) {
-        // Return empty list for now
-        return ResponseEntity.ok(new ArrayList<>());
+    public ResponseEntity<Page<EventSummary>> getSagaEvents(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            return ResponseEntity.of(sagaService.findEvents(id, PageRequest.of(page, size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
+    @QueryBudget(2)
+    @QueryTimeout(2)
     @GetMapping("/{id}/locations")
-    public ResponseEntity<List<Object>> getSagaLocations(@PathVariable Long id) {
-        // Return empty list for now
-        return ResponseEntity.ok(new ArrayList<>());
+    public ResponseEntity<Page<LocationSummary>> getSagaLocations(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            return ResponseEntity.of(sagaService.findLocations(id, PageRequest.of(page, size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
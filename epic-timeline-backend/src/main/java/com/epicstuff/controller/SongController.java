@@ -1,42 +1,183 @@
 package com.epicstuff.controller;
 
+import com.epicstuff.config.QueryBudget;
+import com.epicstuff.config.QueryTimeout;
+import com.epicstuff.dto.KeysetPage;
+import com.epicstuff.dto.SongCharacterLinkBatchRequest;
+import com.epicstuff.dto.SongCharacterLinkBatchResult;
+import com.epicstuff.dto.SongFilterRequest;
+import com.epicstuff.dto.SongSummary;
 import com.epicstuff.model.Song;
+import com.epicstuff.repository.FetchPlan;
+import com.epicstuff.repository.FieldSet;
+import com.epicstuff.repository.SongRepository;
+import com.epicstuff.repository.SummaryJsonQueries;
+import com.epicstuff.service.CatalogVersions;
+import com.epicstuff.service.SongCharacterLinkService;
 import com.epicstuff.service.SongService;
+import com.epicstuff.service.SummaryStreamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/songs")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 public class SongController {
 
     @Autowired
     private SongService songService;
 
+    @Autowired
+    private SongCharacterLinkService songCharacterLinkService;
+
+    @Autowired
+    private SummaryStreamService summaryStreamService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SummaryJsonQueries summaryJsonQueries;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    // Serve the default listing straight from JDBC rows instead of SongSummary records
+    @Value("${epic.fast-json.songs:false}")
+    private boolean fastJson;
+
     // // [DONE] GET /api/songs - List all songs with basic filtering
+    // Flat rows by default; ?expand=saga,characters,themes returns songs with just those associations,
+    // ?fields=title,durationSeconds returns only those columns.
+    // Conditional (304 until a song or saga changes) and served from ResponseCache between writes
+    @QueryBudget(3)
     @GetMapping
-    public ResponseEntity<List<Song>> getAllSongs(
-            @RequestParam(required = false) Long sagaId
+    public ResponseEntity<?> getAllSongs(
+            @RequestParam(required = false) Long sagaId,
+            @RequestParam(required = false) String expand,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
     ) {
-        List<Song> songs;
+        FetchPlan plan;
+        FieldSet fieldSet;
+        try {
+            plan = FetchPlan.parse(expand, SongService.EXPANDABLE);
+            fieldSet = FieldSet.parse(fields, SongRepository.FIELDS);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return responseCache.serve(webRequest, () -> listSongs(sagaId, plan, fieldSet),
+            CatalogVersions.SONGS, CatalogVersions.SAGAS);
+    }
+
+    private ResponseEntity<?> listSongs(Long sagaId, FetchPlan plan, FieldSet fieldSet) {
+        if (fieldSet != null) {
+            return plan == null ? ResponseEntity.ok(songService.findAllFields(sagaId, fieldSet))
+                                : ResponseEntity.badRequest().build();
+        }
+        if (plan != null && !plan.isEmpty()) {
+            return ResponseEntity.ok(songService.findAll(sagaId, plan));
+        }
+        if (fastJson) {
+            return JsonBody.of(objectMapper, json -> summaryJsonQueries.writeSongs(sagaId, json));
+        }
+        List<SongSummary> songs;
         if (sagaId != null) {
-            songs = songService.findSongsBySaga(sagaId);
+            songs = songService.findSummariesBySaga(sagaId);
         } else {
-            songs = songService.findAll();
+            songs = songService.findAllSummaries();
         }
         return ResponseEntity.ok(songs);
     }
 
+    // // [DONE] GET /api/songs with Accept: application/x-ndjson - Stream summary rows as they are read
+    @GetMapping(produces = NdjsonStream.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamAllSongs(@RequestParam(required = false) Long sagaId) {
+        return NdjsonStream.of(objectMapper, action -> summaryStreamService.forEachSong(sagaId, action));
+    }
+
+    // // [DONE] GET /api/songs/filter - Paged songs matching SongFilterRequest query params
+    @QueryBudget(5)
+    @GetMapping("/filter")
+    public ResponseEntity<Page<?>> filterSongs(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String expand,
+            @RequestParam(required = false) String fields,
+            SongFilterRequest filter
+    ) {
+        Sort sort = sortDir.equalsIgnoreCase("desc") ? 
+            Sort.by(sortBy).descending() : 
+            Sort.by(sortBy).ascending();
+        try {
+            FieldSet fieldSet = FieldSet.parse(fields, SongRepository.FIELDS);
+            if (fieldSet != null) {
+                if (expand != null) {
+                    return ResponseEntity.badRequest().build();
+                }
+                return ResponseEntity.ok(songService.findFieldsWithFilter(filter, PageRequest.of(page, size, sort), fieldSet));
+            }
+            FetchPlan plan = FetchPlan.parse(expand, SongService.EXPANDABLE, FetchPlan.NONE);
+            return ResponseEntity.ok(songService.findAllWithFilter(filter, PageRequest.of(page, size, sort), plan));
+        } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // // [DONE] GET /api/songs/seek - Cursor (keyset) paging by id or title
+    @QueryBudget(4)
+    @GetMapping("/seek")
+    public ResponseEntity<KeysetPage<Song>> seekSongs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String expand
+    ) {
+        try {
+            FetchPlan plan = FetchPlan.parse(expand, SongService.EXPANDABLE, FetchPlan.NONE);
+            return ResponseEntity.ok(songService.findPageAfter(sortBy, Sort.Direction.fromString(sortDir), cursor, size, plan));
+        } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // // [DONE] GET /api/songs/{id} - Get single song with populated relationships
+    // Loads saga (with genres, themes, inspirations), characters (with aliases, powers), themes and
+    // description unless ?expand= narrows it to some of those
+    // One statement for the song, one per path of the detail plan
+    @QueryBudget(10)
+    @QueryTimeout(2)
     @GetMapping("/{id}")
-    public ResponseEntity<Song> getSongById(@PathVariable Long id) {
-        Optional<Song> song = songService.findByIdWithRelations(id);
-        return song.map(ResponseEntity::ok)
+    public ResponseEntity<Song> getSongById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String expand
+    ) {
+        FetchPlan plan;
+        try {
+            plan = FetchPlan.parse(expand, SongService.DETAIL_PLAN);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<Song> song = songService.findById(id, plan);
+        return song.map(s -> ResponseEntity.ok().eTag(EntityTags.of(s.getVersion())).body(s))
                   .orElse(ResponseEntity.notFound().build());
     }
 
@@ -52,23 +193,26 @@ public class SongController {
     }
 
     // // [DONE] PUT /api/songs/{id} - Update existing song (simplified)
+    // Send the ETag from GET as If-Match to get 412 instead of overwriting someone else's edit
     @PutMapping("/{id}")
     public ResponseEntity<Song> updateSong(
             @PathVariable Long id, 
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody Song updatedSong
     ) {
+        Long expectedVersion;
         try {
-            Optional<Song> existingSong = songService.findByIdWithRelations(id);
-            if (existingSong.isPresent()) {
-                Song song = existingSong.get();
-                if (updatedSong.getTitle() != null) song.setTitle(updatedSong.getTitle());
-                if (updatedSong.getDescription() != null) song.setDescription(updatedSong.getDescription());
-                if (updatedSong.getDurationSeconds() != null) song.setDurationSeconds(updatedSong.getDurationSeconds());
-                if (updatedSong.getTrackNumber() != null) song.setTrackNumber(updatedSong.getTrackNumber());
-                Song savedSong = songService.save(song);
-                return ResponseEntity.ok(savedSong);
-            }
-            return ResponseEntity.notFound().build();
+            expectedVersion = EntityTags.expectedVersion(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        try {
+            return songService.updateSong(id, updatedSong, expectedVersion)
+                .map(song -> ResponseEntity.ok().eTag(EntityTags.of(song.getVersion())).body(song))
+                .orElse(ResponseEntity.notFound().build());
+        } catch (OptimisticLockingFailureException e) {
+            // Stale If-Match, or another writer committed first: the client re-reads and retries
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -83,6 +227,8 @@ public class SongController {
     }
 
     // // [DONE] GET /api/songs/{id}/characters - Get all characters in song
+    // The song, its characters, then their aliases and powers
+    @QueryBudget(4)
     @GetMapping("/{id}/characters")
     public ResponseEntity<List<com.epicstuff.model.Character>> getSongCharacters(@PathVariable Long id) {
         List<com.epicstuff.model.Character> characters = songService.getSongCharacters(id);
@@ -115,21 +261,34 @@ public class SongController {
                          .orElse(ResponseEntity.notFound().build());
     }
 
+    // // [DONE] POST /api/songs/characters/batch - Link and unlink many (song, character) pairs in one transaction
+    @PostMapping("/characters/batch")
+    public ResponseEntity<SongCharacterLinkBatchResult> updateCharacterLinks(@RequestBody SongCharacterLinkBatchRequest request) {
+        try {
+            return ResponseEntity.ok(songCharacterLinkService.applyBatch(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // // [DONE] GET /api/songs/by-character/{characterId} - Get all songs for a character
+    @QueryBudget(2)
     @GetMapping("/by-character/{characterId}")
-    public ResponseEntity<List<Song>> getSongsByCharacter(@PathVariable Long characterId) {
-        List<Song> songs = songService.findSongsByCharacter(characterId);
+    public ResponseEntity<List<SongSummary>> getSongsByCharacter(@PathVariable Long characterId) {
+        List<SongSummary> songs = songService.findSummariesByCharacter(characterId);
         return ResponseEntity.ok(songs);
     }
 
     // // [DONE] GET /api/songs/by-saga/{sagaId} - Get all songs in a saga
+    @QueryBudget(2)
     @GetMapping("/by-saga/{sagaId}")
-    public ResponseEntity<List<Song>> getSongsBySaga(@PathVariable Long sagaId) {
-        List<Song> songs = songService.findSongsBySaga(sagaId);
+    public ResponseEntity<List<SongSummary>> getSongsBySaga(@PathVariable Long sagaId) {
+        List<SongSummary> songs = songService.findSummariesBySaga(sagaId);
         return ResponseEntity.ok(songs);
     }
 
     // // [DONE] GET /api/songs/{id}/stats - Get song statistics (simplified)
+    @QueryBudget(2)
     @GetMapping("/{id}/stats")
     public ResponseEntity<String> getSongStats(@PathVariable Long id) {
         String stats = songService.getSongStats(id);
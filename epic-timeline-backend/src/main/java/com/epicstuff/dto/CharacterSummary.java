@@ -0,0 +1,12 @@
+package com.epicstuff.dto;
+
+import com.epicstuff.model.enums.CharacterType;
+
+// Flat character row for list views; the detail endpoint returns the full entity
+public record CharacterSummary(
+        Long id,
+        String name,
+        CharacterType characterType,
+        Boolean isProtagonist,
+        Long sagaId
+) {}
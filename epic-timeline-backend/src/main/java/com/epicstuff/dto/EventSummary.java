@@ -0,0 +1,14 @@
+package com.epicstuff.dto;
+
+import java.time.LocalDateTime;
+
+// Flat event row for list views; the detail endpoint returns the full entity
+public record EventSummary(
+        Long id,
+        String title,
+        Integer sequenceOrder,
+        LocalDateTime eventTimestamp,
+        String importance,
+        Long locationId,
+        Long sagaId
+) {}
@@ -0,0 +1,13 @@
+package com.epicstuff.dto;
+
+import java.util.List;
+
+// One page of a seek-paginated listing; pass nextCursor back to get the following page
+public record KeysetPage<T>(
+        List<T> content,
+        int size,
+        String sortBy,
+        String sortDir,
+        String nextCursor,
+        boolean hasNext
+) {}
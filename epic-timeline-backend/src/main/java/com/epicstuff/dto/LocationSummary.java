@@ -0,0 +1,13 @@
+package com.epicstuff.dto;
+
+// Flat location row for list views; the detail endpoint returns the full entity
+public record LocationSummary(
+        Long id,
+        String name,
+        Double latitude,
+        Double longitude,
+        Boolean isRealPlace,
+        Boolean isMythological,
+        String modernName,
+        Long sagaId
+) {}
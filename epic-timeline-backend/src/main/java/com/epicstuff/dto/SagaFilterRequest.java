@@ -3,6 +3,12 @@ package com.epicstuff.dto;
 public class SagaFilterRequest {
     private String title;
     private String genre;
+    private String theme;
+    private String inspiration;
+    private String releasedAfter;
+    private String releasedBefore;
+    private Integer minDuration;
+    private Integer maxDuration;
 
     public SagaFilterRequest() {}
 
@@ -11,4 +17,32 @@ public class SagaFilterRequest {
 
     public String getGenre() { return genre; }
     public void setGenre(String genre) { this.genre = genre; }
+
+    public String getTheme() { return theme; }
+    public void setTheme(String theme) { this.theme = theme; }
+
+    public String getInspiration() { return inspiration; }
+    public void setInspiration(String inspiration) { this.inspiration = inspiration; }
+
+    public String getReleasedAfter() { return releasedAfter; }
+    public void setReleasedAfter(String releasedAfter) { this.releasedAfter = releasedAfter; }
+
+    public String getReleasedBefore() { return releasedBefore; }
+    public void setReleasedBefore(String releasedBefore) { this.releasedBefore = releasedBefore; }
+
+    public Integer getMinDuration() { return minDuration; }
+    public void setMinDuration(Integer minDuration) { this.minDuration = minDuration; }
+
+    public Integer getMaxDuration() { return maxDuration; }
+    public void setMaxDuration(Integer maxDuration) { this.maxDuration = maxDuration; }
+
+    // Whether any param would add a predicate (blank text params are ignored, like in the filter query)
+    public boolean hasCriteria() {
+        return !isBlank(title) || !isBlank(genre) || !isBlank(theme) || !isBlank(inspiration)
+            || releasedAfter != null || releasedBefore != null || minDuration != null || maxDuration != null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
 }
@@ -0,0 +1,11 @@
+package com.epicstuff.dto;
+
+// Flat saga row for list views; the detail endpoint returns the full entity
+public record SagaSummary(
+        Long id,
+        String title,
+        String releaseDate,
+        Integer episodeCount,
+        Integer totalDurationSeconds,
+        String albumArtUrl
+) {}
@@ -0,0 +1,11 @@
+package com.epicstuff.dto;
+
+import java.util.List;
+
+// Song/character pairs to link and unlink in one transaction
+public record SongCharacterLinkBatchRequest(
+        List<Link> add,
+        List<Link> remove
+) {
+    public record Link(Long songId, Long characterId) {}
+}
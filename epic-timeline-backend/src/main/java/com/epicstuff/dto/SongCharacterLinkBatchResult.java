@@ -0,0 +1,7 @@
+package com.epicstuff.dto;
+
+// Rows actually inserted and deleted; pairs that were already linked, not linked, or reference a missing song or character count as zero
+public record SongCharacterLinkBatchResult(
+        int added,
+        int removed
+) {}
@@ -0,0 +1,20 @@
+package com.epicstuff.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Flat song row for list views; the detail endpoint returns the full entity
+public record SongSummary(
+        Long id,
+        String title,
+        Integer trackNumber,
+        Integer durationSeconds,
+        Long sagaId,
+        List<Long> characterIds
+) {
+
+    // Used by JPQL constructor expressions; character ids are filled in from a second query
+    public SongSummary(Long id, String title, Integer trackNumber, Integer durationSeconds, Long sagaId) {
+        this(id, title, trackNumber, durationSeconds, sagaId, new ArrayList<>());
+    }
+}
@@ -2,22 +2,33 @@ package com.epicstuff.model;
 
 import com.epicstuff.model.enums.CharacterType;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.util.List;
 import java.util.ArrayList;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "characters")
 @Table(name = "characters")
 public class Character {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "characters_seq")
+    @SequenceGenerator(name = "characters_seq", sequenceName = "characters_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @JsonIgnore
+    private Long version;
+
     @Column(nullable = false)
     private String name;
 
-    @Column(length = 1000)
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(length = 4001)
     private String description;
 
     @Enumerated(EnumType.STRING)
@@ -28,11 +39,13 @@ public class Character {
     private Boolean isProtagonist = false;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "character-aliases")
     @CollectionTable(name = "character_aliases", joinColumns = @JoinColumn(name = "character_id"))
     @Column(name = "alias")
     private List<String> aliases = new ArrayList<>();
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "character-powers")
     @CollectionTable(name = "character_powers", joinColumns = @JoinColumn(name = "character_id"))
     @Column(name = "power")
     private List<String> powers = new ArrayList<>();
@@ -56,6 +69,8 @@ public class Character {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public Long getVersion() { return version; }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
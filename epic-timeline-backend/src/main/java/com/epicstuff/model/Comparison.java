@@ -2,6 +2,7 @@ package com.epicstuff.model;
 
 import com.epicstuff.model.enums.ComparisonType;
 import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
 @Table(name = "comparisons")
@@ -10,13 +11,20 @@ public class Comparison {
     
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comparisons_seq")
+    @SequenceGenerator(name = "comparisons_seq", sequenceName = "comparisons_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @JsonIgnore
+    private Long version;
+
     @Column(nullable = false)
     private String title;
 
-    @Column(length = 2000)
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(length = 8001)
     private String description;
 
     @Enumerated(EnumType.STRING)
@@ -52,6 +60,8 @@ public class Comparison {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public Long getVersion() { return version; }
+
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
 
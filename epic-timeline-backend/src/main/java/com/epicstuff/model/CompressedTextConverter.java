@@ -0,0 +1,107 @@
+package com.epicstuff.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores long text as bytes, deflated once it passes THRESHOLD bytes.
+ *
+ * The first byte says how the rest is encoded (RAW or DEFLATED), so values
+ * below the threshold, or ones that don't shrink, cost one extra byte and no
+ * decompression. Pair with @Basic(fetch = LAZY) so list queries never read or
+ * inflate the column.
+ *
+ * Bytes that start with neither marker are read as plain UTF-8: descriptions
+ * written before this converter (varchar columns cast to bytes) carry none.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    static final int THRESHOLD = 256;
+
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        if (raw.length >= THRESHOLD) {
+            byte[] deflated = deflate(raw);
+            if (deflated.length < raw.length) {
+                return withMarker(DEFLATED, deflated);
+            }
+        }
+        return withMarker(RAW, raw);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] column) {
+        if (column == null) {
+            return null;
+        }
+        if (column.length == 0) {
+            return "";
+        }
+        byte[] raw = switch (column[0]) {
+            case RAW -> Arrays.copyOfRange(column, 1, column.length);
+            case DEFLATED -> inflate(Arrays.copyOfRange(column, 1, column.length));
+            // Descriptions don't start with the 0x00 or 0x01 control characters, so this is an unmarked legacy value
+            default -> column;
+        };
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] withMarker(byte marker, byte[] payload) {
+        byte[] column = new byte[payload.length + 1];
+        column[0] = marker;
+        System.arraycopy(payload, 0, column, 1, payload.length);
+        return column;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] deflated) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(deflated);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(deflated.length * 3);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed text");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
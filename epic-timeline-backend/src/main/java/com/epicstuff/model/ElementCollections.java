@@ -0,0 +1,30 @@
+package com.epicstuff.model;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * In-place updates for @ElementCollection sets.
+ *
+ * Assigning a new collection instance makes Hibernate delete and reinsert every
+ * row. Editing the managed set instead lets it diff against the loaded
+ * snapshot: only removed values are deleted and only new values are inserted.
+ */
+final class ElementCollections {
+
+    private ElementCollections() {}
+
+    // Make target contain exactly the given values (none when null)
+    static void replace(Set<String> target, Collection<String> values) {
+        if (values == null) {
+            target.clear();
+            return;
+        }
+        if (values == target) {
+            return;
+        }
+        target.retainAll(new HashSet<>(values));
+        target.addAll(values);
+    }
+}
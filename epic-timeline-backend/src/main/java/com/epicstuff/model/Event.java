@@ -1,6 +1,8 @@
 package com.epicstuff.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,13 +16,21 @@ import com.epicstuff.model.Song;
 public class Event {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @JsonIgnore
+    private Long version;
+
     @Column(nullable = false)
     private String title;
 
-    @Column(length = 2000)
+    // Deflated above CompressedTextConverter.THRESHOLD; lazy, so only detail views read and inflate it
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(length = 8001)
     private String description;
 
     @Column(name = "sequence_order")
@@ -31,6 +41,7 @@ public class Event {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "location_id")
+    @JsonIgnoreProperties({"events"})
     private Location location;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -76,6 +87,8 @@ public class Event {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public Long getVersion() { return version; }
+
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
 
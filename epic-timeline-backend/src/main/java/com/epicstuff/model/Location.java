@@ -1,16 +1,26 @@
 package com.epicstuff.model;
 
 import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 import java.util.ArrayList;
 
 @Entity
-@Table(name = "locations")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "locations")
+@Table(name = "locations", indexes = @Index(name = "idx_locations_name_id", columnList = "name, id"))
 public class Location {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "locations_seq")
+    @SequenceGenerator(name = "locations_seq", sequenceName = "locations_seq", allocationSize = 50)
     private Long id;
+
+    @Version
+    @JsonIgnore
+    private Long version;
     
     @Column(nullable = false)
     private String name;
@@ -34,11 +44,13 @@ public class Location {
     private String modernName;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "location-names")
     @CollectionTable(name = "location_names", joinColumns = @JoinColumn(name = "location_id"))
     @Column(name = "alternative_name")
     private List<String> alternativeNames = new ArrayList<>();
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "location-features")
     @CollectionTable(name = "location_features", joinColumns = @JoinColumn(name = "location_id"))
     @Column(name = "feature")
     private List<String> notableFeatures = new ArrayList<>();
@@ -74,6 +86,8 @@ public class Location {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public Long getVersion() { return version; }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
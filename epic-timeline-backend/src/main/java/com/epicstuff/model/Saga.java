@@ -1,17 +1,30 @@
 package com.epicstuff.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Entity
-@Table(name = "sagas")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sagas")
+@Table(name = "sagas", indexes = @Index(name = "idx_sagas_title_id", columnList = "title, id"))
 public class Saga {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sagas_seq")
+    @SequenceGenerator(name = "sagas_seq", sequenceName = "sagas_seq", allocationSize = 50)
     private Long id;
+
+    // Optimistic lock: bumped by every UPDATE, which also checks it in its WHERE clause; exposed as the ETag
+    @Version
+    @JsonIgnore
+    private Long version;
     
     @Column(nullable = false, length = 100)
     private String title;
@@ -26,19 +39,25 @@ public class Saga {
     private Integer episodeCount;
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "saga-genres")
     @CollectionTable(name = "saga_genres", joinColumns = @JoinColumn(name = "saga_id"))
     @Column(name = "genre")
-    private List<String> genres = new ArrayList<>();
+    @OrderBy
+    private Set<String> genres = new LinkedHashSet<>();
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "saga-themes")
     @CollectionTable(name = "saga_themes", joinColumns = @JoinColumn(name = "saga_id"))
     @Column(name = "theme")
-    private List<String> themes = new ArrayList<>();
+    @OrderBy
+    private Set<String> themes = new LinkedHashSet<>();
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "saga-inspirations")
     @CollectionTable(name = "saga_inspirations", joinColumns = @JoinColumn(name = "saga_id"))
     @Column(name = "inspiration")
-    private List<String> inspirations = new ArrayList<>();
+    @OrderBy
+    private Set<String> inspirations = new LinkedHashSet<>();
     
     @Column(name = "album_art_url")
     private String albumArtUrl;
@@ -81,9 +100,9 @@ public class Saga {
         public SagaBuilder description(String description) { saga.description = description; return this; }
         public SagaBuilder releaseDate(String releaseDate) { saga.releaseDate = releaseDate; return this; }
         public SagaBuilder episodeCount(Integer episodeCount) { saga.episodeCount = episodeCount; return this; }
-        public SagaBuilder genres(List<String> genres) { saga.genres = genres; return this; }
-        public SagaBuilder themes(List<String> themes) { saga.themes = themes; return this; }
-        public SagaBuilder inspirations(List<String> inspirations) { saga.inspirations = inspirations; return this; }
+        public SagaBuilder genres(Collection<String> genres) { saga.setGenres(genres); return this; }
+        public SagaBuilder themes(Collection<String> themes) { saga.setThemes(themes); return this; }
+        public SagaBuilder inspirations(Collection<String> inspirations) { saga.setInspirations(inspirations); return this; }
         public SagaBuilder albumArtUrl(String albumArtUrl) { saga.albumArtUrl = albumArtUrl; return this; }
         public SagaBuilder amazonMusicUrl(String amazonMusicUrl) { saga.amazonMusicUrl = amazonMusicUrl; return this; }
         public SagaBuilder youtubePlaylistUrl(String youtubePlaylistUrl) { saga.youtubePlaylistUrl = youtubePlaylistUrl; return this; }
@@ -100,6 +119,8 @@ public class Saga {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public Long getVersion() { return version; }
+
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
 
@@ -112,14 +133,15 @@ public class Saga {
     public Integer getEpisodeCount() { return episodeCount; }
     public void setEpisodeCount(Integer episodeCount) { this.episodeCount = episodeCount; }
 
-    public List<String> getGenres() { return genres; }
-    public void setGenres(List<String> genres) { this.genres = genres; }
+    // Collection setters update the managed set in place so Hibernate writes only the difference
+    public Set<String> getGenres() { return genres; }
+    public void setGenres(Collection<String> genres) { ElementCollections.replace(this.genres, genres); }
 
-    public List<String> getThemes() { return themes; }
-    public void setThemes(List<String> themes) { this.themes = themes; }
+    public Set<String> getThemes() { return themes; }
+    public void setThemes(Collection<String> themes) { ElementCollections.replace(this.themes, themes); }
 
-    public List<String> getInspirations() { return inspirations; }
-    public void setInspirations(List<String> inspirations) { this.inspirations = inspirations; }
+    public Set<String> getInspirations() { return inspirations; }
+    public void setInspirations(Collection<String> inspirations) { ElementCollections.replace(this.inspirations, inspirations); }
 
     public String getAlbumArtUrl() { return albumArtUrl; }
     public void setAlbumArtUrl(String albumArtUrl) { this.albumArtUrl = albumArtUrl; }
@@ -1,17 +1,30 @@
 package com.epicstuff.model;
 
 import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Entity
-@Table(name = "songs")
+@Table(name = "songs", indexes = @Index(name = "idx_songs_title_id", columnList = "title, id"))
+@NamedEntityGraph(name = "Song.withSagaAndCharacters", attributeNodes = {
+    @NamedAttributeNode("saga"),
+    @NamedAttributeNode("characters")
+})
 public class Song {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "songs_seq")
+    @SequenceGenerator(name = "songs_seq", sequenceName = "songs_seq", allocationSize = 50)
     private Long id;
+
+    @Version
+    @JsonIgnore
+    private Long version;
     
     @Column(nullable = false)
     private String title;
@@ -19,13 +32,16 @@ public class Song {
     @Column(name = "track_number")
     private Integer trackNumber;
 
+    // Lazy (bytecode enhanced) so list queries skip it; kept as text for the title/description search
+    @Basic(fetch = FetchType.LAZY)
     @Column(length = 2000)
     private String description;
 
     @ElementCollection
     @CollectionTable(name = "song_themes", joinColumns = @JoinColumn(name = "song_id"))
     @Column(name = "theme")
-    private List<String> themes = new ArrayList<>();
+    @OrderBy
+    private Set<String> themes = new LinkedHashSet<>();
 
     @Column(name = "duration_seconds")
     private Integer durationSeconds;
@@ -50,6 +66,8 @@ public class Song {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public Long getVersion() { return version; }
+
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
 
@@ -59,8 +77,9 @@ public class Song {
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
 
-    public List<String> getThemes() { return themes; }
-    public void setThemes(List<String> themes) { this.themes = themes; }
+    public Set<String> getThemes() { return themes; }
+    // Updates the managed set in place so Hibernate writes only the difference
+    public void setThemes(Collection<String> themes) { ElementCollections.replace(this.themes, themes); }
 
     public Integer getDurationSeconds() { return durationSeconds; }
     public void setDurationSeconds(Integer durationSeconds) { this.durationSeconds = durationSeconds; }
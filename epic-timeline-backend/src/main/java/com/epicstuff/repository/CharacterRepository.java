@@ -1,9 +1,19 @@
 package com.epicstuff.repository;
 
 import com.epicstuff.model.Character;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CharacterRepository extends JpaRepository<Character, Long> {
-}
\ No newline at end of file
+
+    // Saga characters by number of songs they appear in, counted in SQL rather than per character
+    @Query("SELECT c.name FROM Character c LEFT JOIN c.songs s WHERE c.saga.id = :sagaId " +
+           "GROUP BY c.id, c.name ORDER BY COUNT(s) DESC, c.id")
+    List<String> findMostFeaturedNames(@Param("sagaId") Long sagaId, Pageable pageable);
+}
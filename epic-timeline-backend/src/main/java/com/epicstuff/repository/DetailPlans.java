@@ -0,0 +1,35 @@
+package com.epicstuff.repository;
+
+/**
+ * Fetch plans for the detail endpoints, covering everything the entity's JSON
+ * shows: its associations, and their element collections and associations in
+ * turn, following the @JsonIgnore / @JsonIgnoreProperties cuts of the model.
+ * Lazy columns of nested entities (an event's description) are not included
+ * and are left out of the response.
+ */
+public final class DetailPlans {
+
+    // A saga never embeds its songs, characters, locations or events
+    public static final FetchPlan SAGA = FetchPlan.of("genres", "themes", "inspirations");
+
+    // Embedded characters hide their saga, songs and events
+    public static final FetchPlan CHARACTER = FetchPlan.of("aliases", "powers");
+
+    public static final FetchPlan SONG = FetchPlan.of("themes")
+        .and("saga", SAGA)
+        .and("characters", CHARACTER);
+
+    // An event's location is written without its events
+    public static final FetchPlan EVENT_LOCATION = FetchPlan.of("alternativeNames", "notableFeatures")
+        .and("saga", SAGA);
+
+    public static final FetchPlan EVENT = FetchPlan.NONE
+        .and("location", EVENT_LOCATION)
+        .and("saga", SAGA)
+        .and("characters", CHARACTER)
+        .and("songs", SONG);
+
+    public static final FetchPlan LOCATION = EVENT_LOCATION.and("events", EVENT);
+
+    private DetailPlans() {}
+}
@@ -0,0 +1,100 @@
+package com.epicstuff.repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Associations to load for one request, usually parsed from an ?expand= list.
+ *
+ * Anything not in the plan is left as an uninitialized proxy or collection and
+ * written as null by the Hibernate6Module, so it is neither queried nor serialized.
+ *
+ * Besides attributes of the root entity a plan may hold dotted paths such as
+ * "saga.genres", which load that association or collection on the entities
+ * reached through the top-level one. Build them with {@link #and(String, FetchPlan)}.
+ */
+public final class FetchPlan {
+
+    public static final FetchPlan NONE = new FetchPlan(Collections.emptySet());
+
+    // Top-level names and dotted paths, each path after its parent
+    private final Set<String> paths;
+
+    private FetchPlan(Set<String> paths) {
+        this.paths = paths;
+    }
+
+    public static FetchPlan of(String... attributes) {
+        return new FetchPlan(new LinkedHashSet<>(Arrays.asList(attributes)));
+    }
+
+    // This plan plus the given top-level attributes
+    public FetchPlan and(String... attributes) {
+        Set<String> combined = new LinkedHashSet<>(paths);
+        combined.addAll(Arrays.asList(attributes));
+        return new FetchPlan(combined);
+    }
+
+    // This plan plus the attribute, with the nested plan applied to whatever it references
+    public FetchPlan and(String attribute, FetchPlan nested) {
+        Set<String> combined = new LinkedHashSet<>(paths);
+        combined.add(attribute);
+        nested.paths.forEach(path -> combined.add(attribute + "." + path));
+        return new FetchPlan(combined);
+    }
+
+    // null when the parameter is absent, so callers can fall back to the endpoint's default
+    public static FetchPlan parse(String expand, Set<String> allowed) {
+        if (expand == null) {
+            return null;
+        }
+        Set<String> attributes = Arrays.stream(expand.split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (String name : attributes) {
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Cannot expand '" + name + "'. Allowed values: " + allowed);
+            }
+        }
+        return new FetchPlan(attributes);
+    }
+
+    // Parsed plan, or the given default when ?expand= was not sent
+    public static FetchPlan parse(String expand, Set<String> allowed, FetchPlan defaultPlan) {
+        FetchPlan plan = parse(expand, allowed);
+        return plan != null ? plan : defaultPlan;
+    }
+
+    // For detail views: the top-level names of the full plan can be expanded, each with the
+    // nested paths the full plan has below it; no ?expand= means the full plan
+    public static FetchPlan parse(String expand, FetchPlan full) {
+        FetchPlan requested = parse(expand, full.getAttributes());
+        if (requested == null) {
+            return full;
+        }
+        Set<String> selected = full.paths.stream()
+            .filter(path -> requested.paths.contains(path.split("\\.", 2)[0]))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        return new FetchPlan(selected);
+    }
+
+    // Attributes of the root entity
+    public Set<String> getAttributes() {
+        return paths.stream()
+            .filter(path -> path.indexOf('.') < 0)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    // Dotted paths below the root, parents before children
+    public Set<String> getNestedPaths() {
+        return paths.stream()
+            .filter(path -> path.indexOf('.') >= 0)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    public boolean isEmpty() { return paths.isEmpty(); }
+}
@@ -0,0 +1,178 @@
+package com.epicstuff.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import org.hibernate.Hibernate;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Loads entities with exactly the associations named in a {@link FetchPlan}.
+ *
+ * Single-valued associations are fetch-joined into the main query. Each
+ * collection gets its own fetch-join query with the same predicate, which
+ * initializes it on the already managed instances; joining several bags in one
+ * query would multiply rows (or fail with MultipleBagFetchException).
+ *
+ * Single lookups by id go through find() instead, so cached entities and
+ * collections are served from the second-level cache, and may also name lazy
+ * basic attributes such as description.
+ *
+ * Dotted paths are walked from the loaded entities one step at a time; every
+ * step initializes the association on all owners, which batch fetching turns
+ * into one statement per step (per default_batch_fetch_size owners).
+ */
+@Repository
+public class FetchPlanLoader {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public <T> List<T> findAll(Class<T> type, FetchPlan plan) {
+        return load(type, null, null, null, plan, null);
+    }
+
+    // Entities whose attribute path (e.g. "saga.id") equals the value
+    @Transactional(readOnly = true)
+    public <T> List<T> findAllBy(Class<T> type, String path, Object value, FetchPlan plan) {
+        return load(type, "e." + path + " = :value", "value", value, plan, null);
+    }
+
+    @Transactional(readOnly = true)
+    public <T> Optional<T> findById(Class<T> type, Long id, FetchPlan plan) {
+        T entity = entityManager.find(type, id);
+        if (entity == null) {
+            return Optional.empty();
+        }
+        EntityType<T> entityType = entityManager.getMetamodel().entity(type);
+        Object target = Hibernate.unproxy(entity);
+        for (String name : plan.getAttributes()) {
+            Hibernate.initialize(valueOf(target, entityType.getAttribute(name)));
+        }
+        for (String path : plan.getNestedPaths()) {
+            initializePath(entityType, List.of(target), path);
+        }
+        return Optional.of(entity);
+    }
+
+    // Run a paged or seek query and apply the plan to its content in the same transaction,
+    // so serialization never depends on open-in-view to reach what the plan loaded
+    @Transactional(readOnly = true)
+    public <T, R> R fetch(Class<T> type, Supplier<R> query, Function<? super R, List<T>> content, FetchPlan plan) {
+        R result = query.get();
+        initialize(type, content.apply(result), plan);
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public <T> List<T> fetch(Class<T> type, Supplier<List<T>> query, FetchPlan plan) {
+        return fetch(type, query, Function.identity(), plan);
+    }
+
+    // Apply a plan to entities already loaded in the current persistence context
+    @Transactional(readOnly = true)
+    public <T> List<T> initialize(Class<T> type, List<T> entities, FetchPlan plan) {
+        if (!entities.isEmpty() && !plan.isEmpty()) {
+            load(type, "e IN :entities", "entities", entities, plan, entities);
+        }
+        return entities;
+    }
+
+    // loaded: the entities the predicate selects when they are already managed, or null
+    private <T> List<T> load(Class<T> type, String where, String parameter, Object value, FetchPlan plan, List<T> loaded) {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(type);
+        List<String> joins = new ArrayList<>();
+        List<String> collections = new ArrayList<>();
+        for (String name : plan.getAttributes()) {
+            Attribute<? super T, ?> attribute = entityType.getAttribute(name);
+            if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                // Lazy columns load one row at a time on access, so only single lookups may expand them
+                throw new IllegalArgumentException("'" + name + "' can only be expanded on a single " + entityType.getName());
+            }
+            (attribute.isCollection() ? collections : joins).add(name);
+        }
+
+        StringBuilder select = new StringBuilder("SELECT e FROM ").append(entityType.getName()).append(" e");
+        joins.forEach(name -> select.append(" LEFT JOIN FETCH e.").append(name));
+        String filter = where == null ? "" : " WHERE " + where;
+        // Managed entities only need the main query for its fetch joins
+        List<T> result = loaded != null && joins.isEmpty()
+            ? loaded
+            : query(select + filter + " ORDER BY e.id", type, parameter, value).getResultList();
+
+        if (!result.isEmpty()) {
+            for (String name : collections) {
+                // Result is ignored: the query initializes the collection on the managed instances
+                query("SELECT e FROM " + entityType.getName() + " e LEFT JOIN FETCH e." + name + filter, type, parameter, value)
+                    .getResultList();
+            }
+            for (String path : plan.getNestedPaths()) {
+                initializePath(entityType, result, path);
+            }
+        }
+        return result;
+    }
+
+    private void initializePath(ManagedType<?> rootType, List<?> roots, String path) {
+        ManagedType<?> ownerType = rootType;
+        Collection<?> owners = roots;
+        String[] names = path.split("\\.");
+        for (int i = 0; i < names.length; i++) {
+            Attribute<?, ?> attribute = ownerType.getAttribute(names[i]);
+            if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                throw new IllegalArgumentException("'" + path + "' names a column; only associations can be expanded below the top level");
+            }
+            boolean last = i == names.length - 1;
+            Set<Object> reached = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Object owner : owners) {
+                Object value = valueOf(Hibernate.unproxy(owner), attribute);
+                Hibernate.initialize(value);
+                if (last || value == null) {
+                    continue;
+                }
+                if (value instanceof Collection<?> values) {
+                    values.forEach(element -> reached.add(Hibernate.unproxy(element)));
+                } else {
+                    reached.add(Hibernate.unproxy(value));
+                }
+            }
+            if (!last) {
+                Class<?> javaType = attribute instanceof PluralAttribute<?, ?, ?> plural
+                    ? plural.getElementType().getJavaType()
+                    : attribute.getJavaType();
+                ownerType = entityManager.getMetamodel().managedType(javaType);
+                owners = reached;
+            }
+        }
+    }
+
+    // Read through the getter: with bytecode enhancement, lazy attributes are only loaded by the enhanced reader
+    private static Object valueOf(Object entity, Attribute<?, ?> attribute) {
+        return PropertyAccessorFactory.forBeanPropertyAccess(entity).getPropertyValue(attribute.getName());
+    }
+
+    private <T> TypedQuery<T> query(String jpql, Class<T> type, String parameter, Object value) {
+        TypedQuery<T> query = entityManager.createQuery(jpql, type);
+        if (parameter != null) {
+            query.setParameter(parameter, value);
+        }
+        return query;
+    }
+}
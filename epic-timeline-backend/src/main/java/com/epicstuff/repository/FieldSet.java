@@ -0,0 +1,75 @@
+package com.epicstuff.repository;
+
+import jakarta.persistence.Tuple;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columns requested with ?fields=, mapped to whitelisted JPQL paths.
+ *
+ * The selection names only these paths, so unselected columns (long
+ * descriptions in particular) never leave the database. Rows come back as
+ * ordered maps holding exactly the selected keys, which Jackson writes as-is.
+ * The id is always included.
+ */
+public final class FieldSet {
+
+    private final List<String> names;
+    private final List<String> paths;
+
+    private FieldSet(List<String> names, List<String> paths) {
+        this.names = names;
+        this.paths = paths;
+    }
+
+    // null when the parameter is absent or blank; allowed maps field name to JPQL path, e.g. "sagaId" -> "saga.id"
+    public static FieldSet parse(String fields, Map<String, String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        List<String> names = new ArrayList<>(List.of("id"));
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty() || names.contains(name)) {
+                continue;
+            }
+            if (!allowed.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "'. Allowed values: " + allowed.keySet());
+            }
+            names.add(name);
+        }
+        List<String> paths = new ArrayList<>();
+        for (String name : names) {
+            paths.add(name.equals("id") ? "id" : allowed.get(name));
+        }
+        return new FieldSet(names, paths);
+    }
+
+    public List<String> getNames() { return names; }
+
+    // JPQL select list, e.g. "l.id, l.name, l.latitude"
+    String selection(String alias) {
+        StringBuilder select = new StringBuilder();
+        for (String path : paths) {
+            select.append(select.length() == 0 ? "" : ", ").append(alias).append('.').append(path);
+        }
+        return select.toString();
+    }
+
+    Map<String, Object> toRow(Tuple tuple) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            row.put(names.get(i), tuple.get(i));
+        }
+        return row;
+    }
+
+    List<Map<String, Object>> toRows(List<Tuple> tuples) {
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        tuples.forEach(tuple -> rows.add(toRow(tuple)));
+        return rows;
+    }
+}
@@ -0,0 +1,133 @@
+package com.epicstuff.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles a filter request into one paged JPQL query.
+ *
+ * Predicates are fixed JPQL fragments that are only included when their value
+ * is present, so the query text depends on the combination of predicates and
+ * the sort, never on the values. Each shape is assembled once per cache and
+ * reused verbatim, which also lets Hibernate's query plan cache skip parsing.
+ */
+class FilterQuery<T> {
+
+    private final Class<?> entityClass;
+    private final String alias;
+    private final Class<T> resultType;
+    private final String selection;
+    private final List<String> predicates = new ArrayList<>();
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+    // Query returning managed entities
+    FilterQuery(Class<T> entityClass, String alias) {
+        this(entityClass, alias, entityClass, alias);
+    }
+
+    // Query returning a projection, e.g. "new com.epicstuff.dto.SagaSummary(s.id, s.title)"
+    FilterQuery(Class<?> entityClass, String alias, Class<T> resultType, String selection) {
+        this.entityClass = entityClass;
+        this.alias = alias;
+        this.resultType = resultType;
+        this.selection = selection;
+    }
+
+    // Add a predicate bound to a single named parameter, skipped when the value is null
+    FilterQuery<T> and(String predicate, String parameter, Object value) {
+        if (value != null) {
+            predicates.add(predicate);
+            parameters.put(parameter, value);
+        }
+        return this;
+    }
+
+    // Parameterless predicate chosen by a tri-state flag, skipped when the flag is null
+    FilterQuery<T> andFlag(Boolean flag, String whenTrue, String whenFalse) {
+        if (flag != null) {
+            predicates.add(flag ? whenTrue : whenFalse);
+        }
+        return this;
+    }
+
+    // Case-insensitive "contains" on a string value, skipped when blank
+    FilterQuery<T> andContains(String predicate, String parameter, String value) {
+        return and(predicate, parameter, isBlank(value) ? null : "%" + value.trim().toLowerCase() + "%");
+    }
+
+    // Case-insensitive equality on a string value, skipped when blank
+    FilterQuery<T> andEqualsIgnoreCase(String predicate, String parameter, String value) {
+        return and(predicate, parameter, isBlank(value) ? null : value.trim().toLowerCase());
+    }
+
+    Page<T> fetch(EntityManager entityManager, Pageable pageable, Map<String, Shape> shapes) {
+        Shape shape = shapes.computeIfAbsent(shapeKey(pageable.getSort()),
+            key -> compile(entityManager, pageable.getSort()));
+
+        TypedQuery<T> query = entityManager.createQuery(shape.select(), resultType);
+        parameters.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<T> content = query.getResultList();
+
+        // Skip the count when the page itself tells us the total
+        if (pageable.isUnpaged() || (pageable.getOffset() == 0 && content.size() < pageable.getPageSize())) {
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        TypedQuery<Long> count = entityManager.createQuery(shape.count(), Long.class);
+        parameters.forEach(count::setParameter);
+        return new PageImpl<>(content, pageable, count.getSingleResult());
+    }
+
+    private String shapeKey(Sort sort) {
+        return selection + " | " + String.join(" AND ", predicates) + " | " + sort;
+    }
+
+    private Shape compile(EntityManager entityManager, Sort sort) {
+        String from = "FROM " + entityClass.getSimpleName() + " " + alias;
+        String where = predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+
+        StringBuilder orderBy = new StringBuilder();
+        EntityType<?> entityType = entityManager.getMetamodel().entity(entityClass);
+        for (Sort.Order order : sort) {
+            // Only mapped attributes may reach the query text (getAttribute throws IllegalArgumentException otherwise),
+            // and only single-valued columns: ORDER BY s.genres or s.songs is not valid JPQL
+            Attribute<?, ?> attribute = entityType.getAttribute(order.getProperty());
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+                throw new IllegalArgumentException("Cannot sort by " + order.getProperty());
+            }
+            orderBy.append(orderBy.length() == 0 ? " ORDER BY " : ", ")
+                .append(alias).append('.').append(order.getProperty())
+                .append(order.isAscending() ? " ASC" : " DESC");
+        }
+
+        return new Shape(
+            "SELECT " + selection + " " + from + where + orderBy,
+            "SELECT COUNT(" + alias + ") " + from + where);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    // Compiled select and count JPQL for one predicate combination and sort
+    record Shape(String select, String count) {}
+
+    static Map<String, Shape> newShapeCache() {
+        return new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,98 @@
+package com.epicstuff.repository;
+
+import com.epicstuff.dto.KeysetPage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Seek (keyset) pagination ordered by a whitelisted, indexed attribute plus id.
+ *
+ * The continuation token is an opaque base64 string carrying the sort
+ * attribute, direction and the last row's sort value and id. The next page is
+ * a range scan that starts right after that key, so a deep page costs the same
+ * as the first one and no count query is needed.
+ */
+class KeysetQuery<T> {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final Class<T> entityClass;
+    private final Function<T, Long> idGetter;
+    // Non-null string attributes with a (value, id) index, by attribute name
+    private final Map<String, Function<T, String>> sortKeys;
+
+    KeysetQuery(Class<T> entityClass, Function<T, Long> idGetter, Map<String, Function<T, String>> sortKeys) {
+        this.entityClass = entityClass;
+        this.idGetter = idGetter;
+        this.sortKeys = sortKeys;
+    }
+
+    KeysetPage<T> fetch(EntityManager entityManager, String sortBy, Sort.Direction direction, String cursor, int size) {
+        if (!"id".equals(sortBy) && !sortKeys.containsKey(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort attribute for seek paging: " + sortBy);
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        boolean ascending = direction.isAscending();
+        String comparison = ascending ? ">" : "<";
+        String order = ascending ? " ASC" : " DESC";
+
+        String jpql = "SELECT e FROM " + entityClass.getSimpleName() + " e";
+        Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor, sortBy, direction);
+        if (after != null) {
+            jpql += "id".equals(sortBy)
+                ? " WHERE e.id " + comparison + " :lastId"
+                : " WHERE (e." + sortBy + " " + comparison + " :lastValue OR (e." + sortBy + " = :lastValue AND e.id " + comparison + " :lastId))";
+        }
+        jpql += "id".equals(sortBy) ? " ORDER BY e.id" + order : " ORDER BY e." + sortBy + order + ", e.id" + order;
+
+        TypedQuery<T> query = entityManager.createQuery(jpql, entityClass);
+        if (after != null) {
+            query.setParameter("lastId", after.id());
+            if (!"id".equals(sortBy)) {
+                query.setParameter("lastValue", after.value());
+            }
+        }
+        // One extra row tells us whether there is a next page
+        List<T> rows = query.setMaxResults(pageSize + 1).getResultList();
+        boolean hasNext = rows.size() > pageSize;
+        List<T> content = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            T last = content.get(content.size() - 1);
+            String value = "id".equals(sortBy) ? "" : sortKeys.get(sortBy).apply(last);
+            nextCursor = new Cursor(sortBy, direction, idGetter.apply(last), value).encode();
+        }
+        return new KeysetPage<>(content, pageSize, sortBy, direction.name().toLowerCase(), nextCursor, hasNext);
+    }
+
+    // Decoded continuation token: sortBy|direction|lastId|lastValue
+    private record Cursor(String sortBy, Sort.Direction direction, Long id, String value) {
+
+        String encode() {
+            String raw = sortBy + "|" + direction.name() + "|" + id + "|" + value;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token, String sortBy, Sort.Direction direction) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|", 4);
+                Cursor cursor = new Cursor(parts[0], Sort.Direction.valueOf(parts[1]), Long.valueOf(parts[2]), parts[3]);
+                if (!cursor.sortBy().equals(sortBy) || cursor.direction() != direction) {
+                    throw new IllegalArgumentException("Cursor was issued for a different sort order");
+                }
+                return cursor;
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
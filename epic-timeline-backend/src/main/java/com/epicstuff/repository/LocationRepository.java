@@ -1,13 +1,21 @@
 package com.epicstuff.repository;
 
+import com.epicstuff.dto.LocationSummary;
 import com.epicstuff.model.Location;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface LocationRepository extends JpaRepository<Location, Long> {
+@Transactional(readOnly = true)
+public interface LocationRepository extends JpaRepository<Location, Long>, LocationRepositoryCustom {
     
     // // [DONE] Find by name (case insensitive)
     List<Location> findByNameContainingIgnoreCase(String name);
@@ -16,6 +24,17 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
     List<Location> findByIsRealPlace(Boolean isRealPlace);
     List<Location> findByIsMythological(Boolean isMythological);
     
+    // List rows without entity hydration
+    @Query("SELECT new com.epicstuff.dto.LocationSummary(l.id, l.name, l.latitude, l.longitude, " +
+           "l.isRealPlace, l.isMythological, l.modernName, l.saga.id) FROM Location l ORDER BY l.id")
+    List<LocationSummary> findAllSummaries();
+
+    // Same rows through a database cursor, for NDJSON streaming; consume and close inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.epicstuff.dto.LocationSummary(l.id, l.name, l.latitude, l.longitude, " +
+           "l.isRealPlace, l.isMythological, l.modernName, l.saga.id) FROM Location l ORDER BY l.id")
+    Stream<LocationSummary> streamAllSummaries();
+    
     // // [DONE] Find by modern name
     List<Location> findByModernName(String modernName);
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.epicstuff.repository;
+
+import com.epicstuff.dto.KeysetPage;
+import com.epicstuff.model.Location;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+
+public interface LocationRepositoryCustom {
+
+    // ?fields= whitelist for locations (see FieldSet); coordinates and flags are cheap, description is not
+    Map<String, String> FIELDS = Map.of(
+        "name", "name",
+        "description", "description",
+        "latitude", "latitude",
+        "longitude", "longitude",
+        "isRealPlace", "isRealPlace",
+        "isMythological", "isMythological",
+        "modernName", "modernName",
+        "sagaId", "saga.id");
+
+    // Every location, selecting only the requested columns
+    List<Map<String, Object>> findAllFields(FieldSet fields);
+
+    // Seek page after the given cursor (null for the first page), ordered by id or name
+    KeysetPage<Location> findPageAfter(String sortBy, Sort.Direction direction, String cursor, int size);
+}
@@ -0,0 +1,36 @@
+package com.epicstuff.repository;
+
+import com.epicstuff.dto.KeysetPage;
+import com.epicstuff.model.Location;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+public class LocationRepositoryImpl implements LocationRepositoryCustom {
+
+    private static final KeysetQuery<Location> KEYSET =
+        new KeysetQuery<>(Location.class, Location::getId, Map.of("name", Location::getName));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(FieldSet fields) {
+        List<Tuple> rows = entityManager.createQuery(
+                "SELECT " + fields.selection("l") + " FROM Location l ORDER BY l.id", Tuple.class)
+            .getResultList();
+        return fields.toRows(rows);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Location> findPageAfter(String sortBy, Sort.Direction direction, String cursor, int size) {
+        return KEYSET.fetch(entityManager, sortBy, direction, cursor, size);
+    }
+}
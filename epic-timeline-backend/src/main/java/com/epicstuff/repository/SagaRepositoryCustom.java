@@ -0,0 +1,56 @@
+package com.epicstuff.repository;
+
+import com.epicstuff.dto.CharacterSummary;
+import com.epicstuff.dto.EventSummary;
+import com.epicstuff.dto.KeysetPage;
+import com.epicstuff.dto.LocationSummary;
+import com.epicstuff.dto.SagaFilterRequest;
+import com.epicstuff.dto.SagaSummary;
+import com.epicstuff.dto.SongSummary;
+import com.epicstuff.model.Saga;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+import java.util.Optional;
+
+public interface SagaRepositoryCustom {
+
+    // ?fields= whitelist for sagas (see FieldSet); plain columns only, no collections
+    Map<String, String> FIELDS = Map.of(
+        "title", "title",
+        "description", "description",
+        "releaseDate", "releaseDate",
+        "episodeCount", "episodeCount",
+        "albumArtUrl", "albumArtUrl",
+        "amazonMusicUrl", "amazonMusicUrl",
+        "youtubePlaylistUrl", "youtubePlaylistUrl",
+        "totalDurationSeconds", "totalDurationSeconds");
+
+    // Load a saga with songs, characters, locations and events populated
+    Optional<Saga> findByIdWithRelations(Long id);
+
+    // Page of sagas matching every non-null field of the filter, evaluated in SQL
+    Page<Saga> findAllWithFilter(SagaFilterRequest filter, Pageable pageable);
+
+    // Same filter, projected to list rows without loading entities
+    Page<SagaSummary> findSummariesWithFilter(SagaFilterRequest filter, Pageable pageable);
+
+    // Same filter, selecting only the requested columns
+    Page<Map<String, Object>> findFieldsWithFilter(SagaFilterRequest filter, Pageable pageable, FieldSet fields);
+
+    // Seek page after the given cursor (null for the first page), ordered by id or title
+    KeysetPage<Saga> findPageAfter(String sortBy, Sort.Direction direction, String cursor, int size);
+
+    // Pages of one saga's songs (by track number), characters and locations (by name) and events
+    // (by sequence order). Each page and its total come from one query; song character ids are
+    // left empty for the caller to fill in.
+    Page<SongSummary> findSongPage(Long sagaId, Pageable pageable);
+
+    Page<CharacterSummary> findCharacterPage(Long sagaId, Pageable pageable);
+
+    Page<LocationSummary> findLocationPage(Long sagaId, Pageable pageable);
+
+    Page<EventSummary> findEventPage(Long sagaId, Pageable pageable);
+}
@@ -0,0 +1,153 @@
+package com.epicstuff.repository;
+
+import com.epicstuff.dto.CharacterSummary;
+import com.epicstuff.dto.EventSummary;
+import com.epicstuff.dto.KeysetPage;
+import com.epicstuff.dto.LocationSummary;
+import com.epicstuff.dto.SagaFilterRequest;
+import com.epicstuff.dto.SagaSummary;
+import com.epicstuff.dto.SongSummary;
+import com.epicstuff.model.Saga;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class SagaRepositoryImpl implements SagaRepositoryCustom {
+
+    // One keyed query per collection. Fetch-joining all four bags in a single
+    // query either fails (MultipleBagFetchException) or returns the product of
+    // their sizes; separate queries in one persistence context return the sum.
+    private static final List<String> SAGA_COLLECTIONS = List.of("songs", "characters", "locations", "events");
+
+    // Compiled filter queries, one per predicate combination and sort
+    private static final Map<String, FilterQuery.Shape> FILTER_SHAPES = FilterQuery.newShapeCache();
+
+    private static final KeysetQuery<Saga> KEYSET =
+        new KeysetQuery<>(Saga.class, Saga::getId, Map.of("title", Saga::getTitle));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Saga> findByIdWithRelations(Long id) {
+        Saga saga = null;
+        for (String collection : SAGA_COLLECTIONS) {
+            // Each query returns the same managed instance with one more collection initialized
+            List<Saga> result = entityManager.createQuery(
+                    "SELECT s FROM Saga s LEFT JOIN FETCH s." + collection + " WHERE s.id = :id", Saga.class)
+                .setParameter("id", id)
+                .getResultList();
+            if (result.isEmpty()) {
+                return Optional.empty();
+            }
+            saga = result.get(0);
+        }
+        return Optional.ofNullable(saga);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Saga> findAllWithFilter(SagaFilterRequest filter, Pageable pageable) {
+        return filtered(new FilterQuery<>(Saga.class, "s"), filter).fetch(entityManager, pageable, FILTER_SHAPES);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<SagaSummary> findSummariesWithFilter(SagaFilterRequest filter, Pageable pageable) {
+        FilterQuery<SagaSummary> query = new FilterQuery<>(Saga.class, "s", SagaSummary.class,
+            "new com.epicstuff.dto.SagaSummary(s.id, s.title, s.releaseDate, s.episodeCount, s.totalDurationSeconds, s.albumArtUrl)");
+        return filtered(query, filter).fetch(entityManager, pageable, FILTER_SHAPES);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findFieldsWithFilter(SagaFilterRequest filter, Pageable pageable, FieldSet fields) {
+        FilterQuery<Tuple> query = new FilterQuery<>(Saga.class, "s", Tuple.class, fields.selection("s"));
+        return filtered(query, filter).fetch(entityManager, pageable, FILTER_SHAPES).map(fields::toRow);
+    }
+
+    private <R> FilterQuery<R> filtered(FilterQuery<R> query, SagaFilterRequest filter) {
+        if (filter != null) {
+            query.andContains("LOWER(s.title) LIKE :title", "title", filter.getTitle())
+                // Collection predicates become EXISTS subqueries on saga_genres / saga_themes / saga_inspirations
+                .andEqualsIgnoreCase("EXISTS (SELECT 1 FROM s.genres g WHERE LOWER(g) = :genre)", "genre", filter.getGenre())
+                .andEqualsIgnoreCase("EXISTS (SELECT 1 FROM s.themes t WHERE LOWER(t) = :theme)", "theme", filter.getTheme())
+                .andEqualsIgnoreCase("EXISTS (SELECT 1 FROM s.inspirations i WHERE LOWER(i) = :inspiration)", "inspiration", filter.getInspiration())
+                // release_date is text starting with a zero-padded ISO date (yyyy-MM-dd, as seeded), so it orders
+                // like the dates it holds. Bounds are parsed as dates and compared in that same form; the upper
+                // bound becomes "before the next day" so values carrying a time still match their day.
+                .and("s.releaseDate >= :releasedAfter", "releasedAfter", isoDate(filter.getReleasedAfter(), 0))
+                .and("s.releaseDate < :releasedBefore", "releasedBefore", isoDate(filter.getReleasedBefore(), 1))
+                .and("s.totalDurationSeconds >= :minDuration", "minDuration", filter.getMinDuration())
+                .and("s.totalDurationSeconds <= :maxDuration", "maxDuration", filter.getMaxDuration());
+        }
+        return query;
+    }
+
+    // yyyy-MM-dd plus the given days, or IllegalArgumentException (a 400) for anything else
+    private static String isoDate(String value, int plusDays) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim()).plusDays(plusDays).toString();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Expected a yyyy-MM-dd date, got " + value, e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Saga> findPageAfter(String sortBy, Sort.Direction direction, String cursor, int size) {
+        return KEYSET.fetch(entityManager, sortBy, direction, cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<SongSummary> findSongPage(Long sagaId, Pageable pageable) {
+        return WindowedPage.fetch(entityManager,
+            "new com.epicstuff.dto.SongSummary(s.id, s.title, s.trackNumber, s.durationSeconds, s.saga.id)",
+            SongSummary.class, "s", "FROM Song s WHERE s.saga.id = :sagaId", "s.trackNumber, s.id",
+            Map.of("sagaId", sagaId), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CharacterSummary> findCharacterPage(Long sagaId, Pageable pageable) {
+        return WindowedPage.fetch(entityManager,
+            "new com.epicstuff.dto.CharacterSummary(c.id, c.name, c.characterType, c.isProtagonist, c.saga.id)",
+            CharacterSummary.class, "c", "FROM Character c WHERE c.saga.id = :sagaId", "c.name, c.id",
+            Map.of("sagaId", sagaId), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<LocationSummary> findLocationPage(Long sagaId, Pageable pageable) {
+        return WindowedPage.fetch(entityManager,
+            "new com.epicstuff.dto.LocationSummary(l.id, l.name, l.latitude, l.longitude, l.isRealPlace, " +
+                "l.isMythological, l.modernName, l.saga.id)",
+            LocationSummary.class, "l", "FROM Location l WHERE l.saga.id = :sagaId", "l.name, l.id",
+            Map.of("sagaId", sagaId), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventSummary> findEventPage(Long sagaId, Pageable pageable) {
+        return WindowedPage.fetch(entityManager,
+            "new com.epicstuff.dto.EventSummary(e.id, e.title, e.sequenceOrder, e.eventTimestamp, " +
+                "e.eventContext.importance, e.location.id, e.saga.id)",
+            EventSummary.class, "e", "FROM Event e WHERE e.saga.id = :sagaId", "e.sequenceOrder, e.id",
+            Map.of("sagaId", sagaId), pageable);
+    }
+}
@@ -1,17 +1,84 @@
 package com.epicstuff.repository;
 
+import com.epicstuff.dto.SongSummary;
 import com.epicstuff.model.Song;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+// Declared queries are reads and run on the replica; the row operations below override this
 @Repository
-public interface SongRepository extends JpaRepository<Song, Long> {
+@Transactional(readOnly = true)
+public interface SongRepository extends JpaRepository<Song, Long>, SongRepositoryCustom {
+
+    // Fetch plans: saga and cast are join-fetched through the named entity graphs,
+    // element collections (themes, aliases, genres...) are batch-fetched on access
+
+    // Listing plan for every song
+    @EntityGraph("Song.withSagaAndCharacters")
+    @Query("SELECT s FROM Song s")
+    List<Song> findAllWithSagaAndCharacters();
+
+    // List projections: flat rows plus (songId, characterId) pairs for the same songs,
+    // two statements per listing regardless of size. Pairs come ordered by character id,
+    // which is the order of each song's characterIds
+    @Query("SELECT new com.epicstuff.dto.SongSummary(s.id, s.title, s.trackNumber, s.durationSeconds, s.saga.id) " +
+           "FROM Song s ORDER BY s.id")
+    List<SongSummary> findAllSummaries();
+
+    @Query("SELECT s.id, c.id FROM Song s JOIN s.characters c ORDER BY s.id, c.id")
+    List<Object[]> findAllCharacterLinks();
+
+    @Query("SELECT new com.epicstuff.dto.SongSummary(s.id, s.title, s.trackNumber, s.durationSeconds, s.saga.id) " +
+           "FROM Song s WHERE s.saga.id = :sagaId ORDER BY s.trackNumber, s.id")
+    List<SongSummary> findSummariesBySagaId(@Param("sagaId") Long sagaId);
+
+    @Query("SELECT s.id, c.id FROM Song s JOIN s.characters c WHERE s.saga.id = :sagaId ORDER BY s.id, c.id")
+    List<Object[]> findCharacterLinksBySagaId(@Param("sagaId") Long sagaId);
+
+    @Query("SELECT s.id, c.id FROM Song s JOIN s.characters c WHERE s.id IN :songIds ORDER BY s.id, c.id")
+    List<Object[]> findCharacterLinksBySongIds(@Param("songIds") Collection<Long> songIds);
+
+    @Query("SELECT new com.epicstuff.dto.SongSummary(s.id, s.title, s.trackNumber, s.durationSeconds, s.saga.id) " +
+           "FROM Song s WHERE EXISTS (SELECT 1 FROM s.characters c WHERE c.id = :characterId) ORDER BY s.id")
+    List<SongSummary> findSummariesByCharacterId(@Param("characterId") Long characterId);
+
+    // Joined through the character's own links, so the (character_id, song_id) index drives the query;
+    // as an EXISTS filter on the joined rows it scanned every song
+    @Query("SELECT s.id, c.id FROM Song s JOIN s.characters f JOIN s.characters c " +
+           "WHERE f.id = :characterId ORDER BY s.id, c.id")
+    List<Object[]> findCharacterLinksByCharacterId(@Param("characterId") Long characterId);
+
+    // Direct song_characters row operations: no song or cast is loaded, and the
+    // existence checks run in SQL. The query space hint limits second-level cache
+    // invalidation to that table instead of every region.
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "song_characters"))
+    @Query(value = "INSERT INTO song_characters (song_id, character_id) " +
+                   "SELECT s.id, c.id FROM songs s, characters c WHERE s.id = :songId AND c.id = :characterId " +
+                   "AND NOT EXISTS (SELECT 1 FROM song_characters sc WHERE sc.song_id = :songId AND sc.character_id = :characterId)",
+           nativeQuery = true)
+    int insertCharacterLink(@Param("songId") Long songId, @Param("characterId") Long characterId);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "song_characters"))
+    @Query(value = "DELETE FROM song_characters WHERE song_id = :songId AND character_id = :characterId", nativeQuery = true)
+    int deleteCharacterLink(@Param("songId") Long songId, @Param("characterId") Long characterId);
 
     // Find by track number range
     List<Song> findByTrackNumberBetween(Integer minTrack, Integer maxTrack);
@@ -28,9 +95,11 @@ public interface SongRepository extends JpaRepository<Song, Long> {
     List<Song> findByThemesContaining(@Param("theme") String theme);
 
     // Find songs by saga
+    @EntityGraph("Song.withSagaAndCharacters")
     List<Song> findBySagaId(Long sagaId);
 
     // Find songs by character (through many-to-many relationship)
+    @EntityGraph("Song.withSagaAndCharacters")
     @Query("SELECT s FROM Song s JOIN s.characters c WHERE c.id = :characterId")
     List<Song> findByCharacterId(@Param("characterId") Long characterId);
 
@@ -0,0 +1,40 @@
+package com.epicstuff.repository;
+
+import com.epicstuff.dto.KeysetPage;
+import com.epicstuff.dto.SongFilterRequest;
+import com.epicstuff.dto.SongSummary;
+import com.epicstuff.model.Song;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface SongRepositoryCustom {
+
+    // ?fields= whitelist for songs (see FieldSet); sagaId reads the foreign key, not the saga
+    Map<String, String> FIELDS = Map.of(
+        "title", "title",
+        "trackNumber", "trackNumber",
+        "description", "description",
+        "durationSeconds", "durationSeconds",
+        "sagaId", "saga.id");
+
+    // Page of songs matching every non-null field of the filter, evaluated in SQL
+    Page<Song> findAllWithFilter(SongFilterRequest filter, Pageable pageable);
+
+    // Same filter, selecting only the requested columns
+    Page<Map<String, Object>> findFieldsWithFilter(SongFilterRequest filter, Pageable pageable, FieldSet fields);
+
+    // Every song, or the songs of one saga when sagaId is set, selecting only the requested columns
+    List<Map<String, Object>> findAllFields(Long sagaId, FieldSet fields);
+
+    // Summary rows (with character ids) read through a database cursor, ordered like the JSON listing.
+    // Must be consumed and closed inside a transaction.
+    Stream<SongSummary> streamSummaries(Long sagaId);
+
+    // Seek page after the given cursor (null for the first page), ordered by id or title
+    KeysetPage<Song> findPageAfter(String sortBy, Sort.Direction direction, String cursor, int size);
+}
@@ -0,0 +1,144 @@
+package com.epicstuff.repository;
+
+import com.epicstuff.dto.KeysetPage;
+import com.epicstuff.dto.SongFilterRequest;
+import com.epicstuff.dto.SongSummary;
+import com.epicstuff.model.Song;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class SongRepositoryImpl implements SongRepositoryCustom {
+
+    // Compiled filter queries, one per predicate combination and sort
+    private static final Map<String, FilterQuery.Shape> FILTER_SHAPES = FilterQuery.newShapeCache();
+
+    private static final KeysetQuery<Song> KEYSET =
+        new KeysetQuery<>(Song.class, Song::getId, Map.of("title", Song::getTitle));
+
+    // Rows per JDBC round trip when streaming
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Song> findAllWithFilter(SongFilterRequest filter, Pageable pageable) {
+        return filtered(new FilterQuery<>(Song.class, "s"), filter).fetch(entityManager, pageable, FILTER_SHAPES);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findFieldsWithFilter(SongFilterRequest filter, Pageable pageable, FieldSet fields) {
+        FilterQuery<Tuple> query = new FilterQuery<>(Song.class, "s", Tuple.class, fields.selection("s"));
+        return filtered(query, filter).fetch(entityManager, pageable, FILTER_SHAPES).map(fields::toRow);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(Long sagaId, FieldSet fields) {
+        String where = sagaId != null ? " WHERE s.saga.id = :sagaId" : "";
+        TypedQuery<Tuple> query = entityManager.createQuery(
+            "SELECT " + fields.selection("s") + " FROM Song s" + where + " ORDER BY s.id", Tuple.class);
+        if (sagaId != null) {
+            query.setParameter("sagaId", sagaId);
+        }
+        return fields.toRows(query.getResultList());
+    }
+
+    @Override
+    public Stream<SongSummary> streamSummaries(Long sagaId) {
+        // One row per (song, character) pair; rows of the same song are adjacent and are
+        // folded back into a single summary, so nothing is buffered beyond the current song.
+        // Character ids come in id order, as in the character link queries and SummaryJsonQueries
+        String where = sagaId != null ? " WHERE s.saga.id = :sagaId" : "";
+        String order = sagaId != null ? " ORDER BY s.trackNumber, s.id, c.id" : " ORDER BY s.id, c.id";
+        TypedQuery<Object[]> query = entityManager.createQuery(
+            "SELECT s.id, s.title, s.trackNumber, s.durationSeconds, s.saga.id, c.id " +
+            "FROM Song s LEFT JOIN s.characters c" + where + order, Object[].class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (sagaId != null) {
+            query.setParameter("sagaId", sagaId);
+        }
+        Stream<Object[]> rows = query.getResultStream();
+        return StreamSupport.stream(new SummaryRows(rows.iterator()), false).onClose(rows::close);
+    }
+
+    private <R> FilterQuery<R> filtered(FilterQuery<R> query, SongFilterRequest filter) {
+        if (filter != null) {
+            query.and("s.saga.id = :sagaId", "sagaId", filter.getSagaId())
+                .and("EXISTS (SELECT 1 FROM s.characters c WHERE c.id = :characterId)", "characterId", filter.getCharacterId())
+                // Themes and moods are both stored in song_themes; genres belong to the saga
+                .andEqualsIgnoreCase("EXISTS (SELECT 1 FROM s.themes t WHERE LOWER(t) = :theme)", "theme", filter.getTheme())
+                .andEqualsIgnoreCase("EXISTS (SELECT 1 FROM s.themes m WHERE LOWER(m) = :mood)", "mood", filter.getMood())
+                .andEqualsIgnoreCase("EXISTS (SELECT 1 FROM s.saga.genres g WHERE LOWER(g) = :genre)", "genre", filter.getGenre())
+                .andFlag(filter.getIsReprise(), "LOWER(s.title) LIKE '%reprise%'", "LOWER(s.title) NOT LIKE '%reprise%'")
+                .and("s.durationSeconds >= :minDuration", "minDuration", filter.getMinDuration())
+                .and("s.durationSeconds <= :maxDuration", "maxDuration", filter.getMaxDuration())
+                .andContains("(LOWER(s.title) LIKE :search OR LOWER(s.description) LIKE :search)", "search", filter.getSearch());
+        }
+        return query;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Song> findPageAfter(String sortBy, Sort.Direction direction, String cursor, int size) {
+        return KEYSET.fetch(entityManager, sortBy, direction, cursor, size);
+    }
+
+    // Groups consecutive (song, character) rows into SongSummary records
+    private static class SummaryRows extends Spliterators.AbstractSpliterator<SongSummary> {
+
+        private final Iterator<Object[]> rows;
+        private Object[] pending;
+
+        SummaryRows(Iterator<Object[]> rows) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super SongSummary> action) {
+            Object[] row = pending != null ? pending : rows.hasNext() ? rows.next() : null;
+            pending = null;
+            if (row == null) {
+                return false;
+            }
+            SongSummary summary = new SongSummary((Long) row[0], (String) row[1], (Integer) row[2], (Integer) row[3], (Long) row[4]);
+            addCharacter(summary, row);
+            while (rows.hasNext()) {
+                Object[] next = rows.next();
+                if (!summary.id().equals(next[0])) {
+                    pending = next;
+                    break;
+                }
+                addCharacter(summary, next);
+            }
+            action.accept(summary);
+            return true;
+        }
+
+        private static void addCharacter(SongSummary summary, Object[] row) {
+            if (row[5] != null) {
+                summary.characterIds().add((Long) row[5]);
+            }
+        }
+    }
+}
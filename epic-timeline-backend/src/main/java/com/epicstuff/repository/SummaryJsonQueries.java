@@ -0,0 +1,223 @@
+package com.epicstuff.repository;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Entity-free fast path for the summary listings.
+ *
+ * Each method runs fixed SQL and writes every JDBC row straight into a
+ * JsonGenerator: no entities, no DTOs, no intermediate lists. The output is
+ * byte-for-byte the JSON that Jackson writes for SongSummary, LocationSummary
+ * and Page&lt;SagaSummary&gt;, so an endpoint can switch between the two paths.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class SummaryJsonQueries {
+
+    // (song, character) pairs, adjacent per song; folded into one object with a characterIds array.
+    // Songs and their character ids are ordered exactly as SongRepository orders the summaries and links
+    private static final String SONGS =
+        "SELECT s.id, s.title, s.track_number, s.duration_seconds, s.saga_id, sc.character_id " +
+        "FROM songs s LEFT JOIN song_characters sc ON sc.song_id = s.id ";
+    private static final String ALL_SONGS = SONGS + "ORDER BY s.id, sc.character_id";
+    private static final String SAGA_SONGS = SONGS + "WHERE s.saga_id = ? ORDER BY s.track_number, s.id, sc.character_id";
+
+    private static final String LOCATIONS =
+        "SELECT id, name, latitude, longitude, is_real_place, is_mythological, modern_name, saga_id " +
+        "FROM locations ORDER BY id";
+
+    private static final String SAGAS =
+        "SELECT id, title, release_date, episode_count, total_duration_seconds, album_art_url FROM sagas";
+    private static final String SAGA_COUNT = "SELECT COUNT(*) FROM sagas";
+
+    // Sortable SagaSummary properties and their columns
+    private static final Map<String, String> SAGA_SORT_COLUMNS = Map.of(
+        "id", "id",
+        "title", "title",
+        "releaseDate", "release_date",
+        "episodeCount", "episode_count",
+        "totalDurationSeconds", "total_duration_seconds");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // JSON array of SongSummary, for every song or the songs of one saga
+    public void writeSongs(Long sagaId, JsonGenerator json) throws IOException {
+        json.writeStartArray();
+        long[] current = {-1};
+        RowWriter row = rs -> {
+            long id = rs.getLong(1);
+            if (id != current[0]) {
+                if (current[0] != -1) {
+                    json.writeEndArray();
+                    json.writeEndObject();
+                }
+                current[0] = id;
+                json.writeStartObject();
+                json.writeNumberField("id", id);
+                writeString(json, "title", rs, 2);
+                writeInteger(json, "trackNumber", rs, 3);
+                writeInteger(json, "durationSeconds", rs, 4);
+                writeLong(json, "sagaId", rs, 5);
+                json.writeArrayFieldStart("characterIds");
+            }
+            long characterId = rs.getLong(6);
+            if (!rs.wasNull()) {
+                json.writeNumber(characterId);
+            }
+        };
+        if (sagaId != null) {
+            jdbcTemplate.query(SAGA_SONGS, row.handler(), sagaId);
+        } else {
+            jdbcTemplate.query(ALL_SONGS, row.handler());
+        }
+        if (current[0] != -1) {
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+    }
+
+    // JSON array of LocationSummary
+    public void writeLocations(JsonGenerator json) throws IOException {
+        json.writeStartArray();
+        RowWriter row = rs -> {
+            json.writeStartObject();
+            json.writeNumberField("id", rs.getLong(1));
+            writeString(json, "name", rs, 2);
+            writeDouble(json, "latitude", rs, 3);
+            writeDouble(json, "longitude", rs, 4);
+            writeBoolean(json, "isRealPlace", rs, 5);
+            writeBoolean(json, "isMythological", rs, 6);
+            writeString(json, "modernName", rs, 7);
+            writeLong(json, "sagaId", rs, 8);
+            json.writeEndObject();
+        };
+        jdbcTemplate.query(LOCATIONS, row.handler());
+        json.writeEndArray();
+    }
+
+    // Whether writeSagaPage can serve this sort
+    public boolean supportsSagaSort(Sort sort) {
+        return sort.stream().allMatch(order -> SAGA_SORT_COLUMNS.containsKey(order.getProperty()));
+    }
+
+    // Unfiltered Page<SagaSummary>, with the same count-skipping rule as the JPQL listing
+    public void writeSagaPage(Pageable pageable, JsonGenerator json) throws IOException {
+        StringBuilder sql = new StringBuilder(SAGAS);
+        for (Sort.Order order : pageable.getSort()) {
+            sql.append(sql.length() == SAGAS.length() ? " ORDER BY " : ", ")
+                .append(SAGA_SORT_COLUMNS.get(order.getProperty()))
+                .append(order.isAscending() ? " ASC" : " DESC");
+        }
+        sql.append(" OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+
+        json.writeStartObject();
+        json.writeArrayFieldStart("content");
+        int[] rows = {0};
+        RowWriter row = rs -> {
+            rows[0]++;
+            json.writeStartObject();
+            json.writeNumberField("id", rs.getLong(1));
+            writeString(json, "title", rs, 2);
+            writeString(json, "releaseDate", rs, 3);
+            writeInteger(json, "episodeCount", rs, 4);
+            writeInteger(json, "totalDurationSeconds", rs, 5);
+            writeString(json, "albumArtUrl", rs, 6);
+            json.writeEndObject();
+        };
+        jdbcTemplate.query(sql.toString(), row.handler(), pageable.getOffset(), pageable.getPageSize());
+        json.writeEndArray();
+
+        long total = pageable.getOffset() == 0 && rows[0] < pageable.getPageSize()
+            ? rows[0]
+            : jdbcTemplate.queryForObject(SAGA_COUNT, Long.class);
+        int totalPages = (int) Math.ceil((double) total / pageable.getPageSize());
+        json.writeFieldName("pageable");
+        objectMapper.writeValue(json, pageable);
+        json.writeNumberField("totalPages", totalPages);
+        json.writeNumberField("totalElements", total);
+        json.writeBooleanField("last", pageable.getPageNumber() + 1 >= totalPages);
+        json.writeNumberField("size", pageable.getPageSize());
+        json.writeNumberField("number", pageable.getPageNumber());
+        json.writeFieldName("sort");
+        objectMapper.writeValue(json, pageable.getSort());
+        json.writeNumberField("numberOfElements", rows[0]);
+        json.writeBooleanField("first", pageable.getPageNumber() == 0);
+        json.writeBooleanField("empty", rows[0] == 0);
+        json.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator json, String name, ResultSet rs, int column) throws SQLException, IOException {
+        json.writeStringField(name, rs.getString(column));
+    }
+
+    private static void writeInteger(JsonGenerator json, String name, ResultSet rs, int column) throws SQLException, IOException {
+        int value = rs.getInt(column);
+        if (rs.wasNull()) {
+            json.writeNullField(name);
+        } else {
+            json.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeLong(JsonGenerator json, String name, ResultSet rs, int column) throws SQLException, IOException {
+        long value = rs.getLong(column);
+        if (rs.wasNull()) {
+            json.writeNullField(name);
+        } else {
+            json.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeDouble(JsonGenerator json, String name, ResultSet rs, int column) throws SQLException, IOException {
+        double value = rs.getDouble(column);
+        if (rs.wasNull()) {
+            json.writeNullField(name);
+        } else {
+            json.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeBoolean(JsonGenerator json, String name, ResultSet rs, int column) throws SQLException, IOException {
+        boolean value = rs.getBoolean(column);
+        if (rs.wasNull()) {
+            json.writeNullField(name);
+        } else {
+            json.writeBooleanField(name, value);
+        }
+    }
+
+    // Row callback that may throw the generator's IOException
+    private interface RowWriter {
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        default RowCallbackHandler handler() {
+            return rs -> {
+                try {
+                    write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+        }
+    }
+}
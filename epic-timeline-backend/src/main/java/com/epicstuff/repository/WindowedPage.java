@@ -0,0 +1,54 @@
+package com.epicstuff.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One paged JPQL query that also returns the total row count.
+ *
+ * The select list is "row, COUNT(*) OVER ()". The window is evaluated before
+ * OFFSET/FETCH, so every row of the page carries the size of the whole result
+ * and no separate count query is needed. Only a page past the end has no rows
+ * to carry the total; that case alone falls back to the count query.
+ * Pages hold at most KeysetQuery.MAX_PAGE_SIZE rows, like the seek pages.
+ */
+final class WindowedPage {
+
+    private WindowedPage() {}
+
+    // from: "FROM ... WHERE ..." shared by both queries; orderBy must make the order total
+    static <T> Page<T> fetch(EntityManager entityManager, String row, Class<T> rowType, String alias,
+                             String from, String orderBy, Map<String, Object> parameters, Pageable requested) {
+        Pageable pageable = requested.getPageSize() > KeysetQuery.MAX_PAGE_SIZE
+            ? PageRequest.of(requested.getPageNumber(), KeysetQuery.MAX_PAGE_SIZE, requested.getSort())
+            : requested;
+        TypedQuery<Object[]> query = entityManager.createQuery(
+            "SELECT " + row + ", COUNT(*) OVER () " + from + " ORDER BY " + orderBy, Object[].class);
+        parameters.forEach(query::setParameter);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        List<Object[]> rows = query.getResultList();
+
+        List<T> content = new ArrayList<>(rows.size());
+        for (Object[] columns : rows) {
+            content.add(rowType.cast(columns[0]));
+        }
+        if (!rows.isEmpty()) {
+            return new PageImpl<>(content, pageable, ((Number) rows.get(0)[1]).longValue());
+        }
+        if (pageable.getOffset() == 0) {
+            return new PageImpl<>(content, pageable, 0);
+        }
+        TypedQuery<Long> count = entityManager.createQuery("SELECT COUNT(" + alias + ") " + from, Long.class);
+        parameters.forEach(count::setParameter);
+        return new PageImpl<>(content, pageable, count.getSingleResult());
+    }
+}
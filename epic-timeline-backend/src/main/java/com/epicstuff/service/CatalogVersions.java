@@ -0,0 +1,99 @@
+package com.epicstuff.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change counters for the catalog collections behind the list endpoints.
+ *
+ * Services bump a collection once a write to it has committed. The list
+ * endpoints turn the counters of the collections they render into a strong
+ * ETag plus Last-Modified (see ResponseCache), so revalidating an unchanged
+ * catalog is answered with 304 from memory, before any query runs or any JSON
+ * is written.
+ *
+ * Counters start over on restart (the boot time is part of every tag) and
+ * only see writes made through this instance. Each bump is also published as
+ * a Changed event, which drops the affected entries of the response cache.
+ */
+@Component
+public class CatalogVersions {
+
+    public static final String SAGAS = "sagas";
+    public static final String SONGS = "songs";
+    public static final String LOCATIONS = "locations";
+
+    private static final String[] ALL = {SAGAS, SONGS, LOCATIONS};
+
+    private final long startedAt = System.currentTimeMillis();
+    private final String epoch = Long.toString(startedAt, 36);
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public record Changed(List<String> collections) {}
+
+    // Within a transaction the bump waits for the commit, so a new tag never describes uncommitted or rolled-back data
+    public void bump(String... collections) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(collections);
+                }
+            });
+        } else {
+            increment(collections);
+        }
+    }
+
+    // Seeding, bulk loads and direct database edits: every collection may have changed
+    public void bumpAll() {
+        bump(ALL);
+    }
+
+    // Unquoted entity tag value for the current state of the collections
+    public String tag(String... collections) {
+        StringBuilder tag = new StringBuilder(epoch);
+        for (String collection : collections) {
+            tag.append('-').append(counter(collection).version.get());
+        }
+        return tag.toString();
+    }
+
+    public long lastModified(String... collections) {
+        long lastModified = startedAt;
+        for (String collection : collections) {
+            lastModified = Math.max(lastModified, counter(collection).modifiedAt);
+        }
+        return lastModified;
+    }
+
+    private void increment(String... collections) {
+        long now = System.currentTimeMillis();
+        for (String collection : collections) {
+            Counter counter = counter(collection);
+            counter.version.incrementAndGet();
+            counter.modifiedAt = now;
+        }
+        eventPublisher.publishEvent(new Changed(List.of(collections)));
+    }
+
+    private Counter counter(String collection) {
+        return counters.computeIfAbsent(collection, name -> new Counter());
+    }
+
+    private static final class Counter {
+        private final AtomicLong version = new AtomicLong();
+        private volatile long modifiedAt;
+    }
+}
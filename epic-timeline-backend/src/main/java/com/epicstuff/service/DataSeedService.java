@@ -7,9 +7,14 @@ import com.epicstuff.repository.LocationRepository;
 import com.epicstuff.repository.SagaRepository;
 import com.epicstuff.repository.SongRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Arrays;
+import java.util.List;
 
 @Service
 public class DataSeedService implements CommandLineRunner {
@@ -23,8 +28,50 @@ public class DataSeedService implements CommandLineRunner {
     @Autowired
     private SongRepository songRepository;
 
+    // Bump when the seed data below changes; a persistent database is then cleared and reseeded
+    static final int DATASET_VERSION = 1;
+
+    private static final String DATASET = "epic";
+
+    // Seeded tables, children before parents
+    private static final List<String> SEEDED_TABLES = List.of(
+        "comparisons", "event_songs", "event_characters", "events",
+        "song_characters", "song_themes", "songs",
+        "character_powers", "character_aliases", "characters",
+        "location_features", "location_names", "locations",
+        "saga_inspirations", "saga_themes", "saga_genres", "sagas");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    // Clearing the catalog for a new DATASET_VERSION is opt-in (the h2file profile turns it on)
+    // and only ever happens on H2: elsewhere the tables hold data edited through the API
+    @Value("${epic.seed.reseed:false}")
+    private boolean reseed;
+
+    // One transaction for the whole seed so sequence ids are pre-allocated and inserts batched
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
+        // Persistent (h2file) databases keep the dataset across restarts: one lookup and done
+        Integer seededVersion = jdbcTemplate.query("SELECT version FROM seed_version WHERE dataset = ?",
+            rs -> rs.next() ? rs.getInt(1) : null, DATASET);
+        if (seededVersion != null && seededVersion == DATASET_VERSION) {
+            System.out.println("// [DONE] Dataset version " + DATASET_VERSION + " already seeded, skipping");
+            return;
+        }
+        if (seededVersion != null) {
+            if (!reseed || !isH2()) {
+                System.out.println("// [DONE] Dataset version " + seededVersion + " kept; version " + DATASET_VERSION
+                    + " is only reseeded on H2 with epic.seed.reseed=true");
+                return;
+            }
+            SEEDED_TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+        }
+
         // Seed Troy location data for EPIC: The Musical
         if (locationRepository.count() == 0) {
             seedTroyLocationData();
@@ -39,6 +86,18 @@ public class DataSeedService implements CommandLineRunner {
         if (songRepository.count() == 0) {
             seedTroySagaSongs();
         }
+
+        jdbcTemplate.update("DELETE FROM seed_version WHERE dataset = ?", DATASET);
+        jdbcTemplate.update("INSERT INTO seed_version (dataset, version, seeded_at) VALUES (?, ?, CURRENT_TIMESTAMP)",
+            DATASET, DATASET_VERSION);
+        // Requests are served while seeding runs; anything they tagged is stale once this commits
+        catalogVersions.bumpAll();
+    }
+
+    private boolean isH2() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+            connection.getMetaData().getDatabaseProductName());
+        return "H2".equals(product);
     }
 
     private void seedTroyLocationData() {
@@ -52,7 +111,6 @@ public class DataSeedService implements CommandLineRunner {
         troy.setLatitude(39.957);
         troy.setLongitude(26.239);
         troy.setCulturalSignificance(new Location.CulturalSignificance("PRIMARY"));
-        locationRepository.save(troy);
 
         // Create Ithaca - Odysseus's home
         Location ithaca = new Location();
@@ -64,7 +122,6 @@ public class DataSeedService implements CommandLineRunner {
         ithaca.setLatitude(38.4);
         ithaca.setLongitude(20.7);
         ithaca.setCulturalSignificance(new Location.CulturalSignificance("PRIMARY"));
-        locationRepository.save(ithaca);
 
         // Create the Underworld - mythological location from the musical
         Location underworld = new Location();
@@ -76,7 +133,9 @@ public class DataSeedService implements CommandLineRunner {
         underworld.setLatitude(null);
         underworld.setLongitude(null);
         underworld.setCulturalSignificance(new Location.CulturalSignificance("SECONDARY"));
-        locationRepository.save(underworld);
+
+        // One saveAll in the seeding transaction: inserts go out as JDBC batches
+        locationRepository.saveAll(List.of(troy, ithaca, underworld));
 
         System.out.println("// [DONE] Seeded EPIC: The Musical location data - Troy, Ithaca, and The Underworld");
     }
@@ -96,8 +155,6 @@ public class DataSeedService implements CommandLineRunner {
             .totalDurationSeconds(1263) // Approximately 21 minutes
             .build();
         
-        sagaRepository.save(troySaga);
-        
         // Create The Cyclops Saga
         Saga cyclopsSaga = Saga.builder()
             .title("The Cyclops Saga")
@@ -112,8 +169,6 @@ public class DataSeedService implements CommandLineRunner {
             .totalDurationSeconds(1032) // Approximately 17 minutes
             .build();
         
-        sagaRepository.save(cyclopsSaga);
-        
         // Create The Ocean Saga
         Saga oceanSaga = Saga.builder()
             .title("The Ocean Saga")
@@ -128,8 +183,6 @@ public class DataSeedService implements CommandLineRunner {
             .totalDurationSeconds(1081) // Approximately 18 minutes
             .build();
         
-        sagaRepository.save(oceanSaga);
-        
         // Create The Circe Saga
         Saga circeSaga = Saga.builder()
             .title("The Circe Saga")
@@ -144,7 +197,7 @@ public class DataSeedService implements CommandLineRunner {
             .totalDurationSeconds(962) // Approximately 16 minutes
             .build();
         
-        sagaRepository.save(circeSaga);
+        sagaRepository.saveAll(List.of(troySaga, cyclopsSaga, oceanSaga, circeSaga));
         
         System.out.println("// [DONE] Seeded EPIC: The Musical saga data - Troy, Cyclops, Ocean, and Circe Sagas");
     }
@@ -165,7 +218,6 @@ public class DataSeedService implements CommandLineRunner {
         song1.setDescription("The Greek warriors celebrate their victory in Troy, but Odysseus faces a difficult decision about the infant prince Astyanax.");
         song1.setThemes(Arrays.asList("War", "Moral Dilemma", "Prophecy", "Divine Guidance"));
         song1.setSaga(troySaga);
-        songRepository.save(song1);
 
         // 2. Just a Man
         Song song2 = new Song();
@@ -175,7 +227,6 @@ public class DataSeedService implements CommandLineRunner {
         song2.setDescription("Odysseus grapples with his humanity and the weight of his choices as a leader and father.");
         song2.setThemes(Arrays.asList("Humanity", "Vulnerability", "Family", "Sacrifice"));
         song2.setSaga(troySaga);
-        songRepository.save(song2);
 
         // 3. Full Speed Ahead
         Song song3 = new Song();
@@ -185,7 +236,6 @@ public class DataSeedService implements CommandLineRunner {
         song3.setDescription("The crew sets sail from Troy, eager to return home. Polites encourages optimism while Odysseus remains cautious.");
         song3.setThemes(Arrays.asList("Optimism", "Leadership", "Friendship", "Hope"));
         song3.setSaga(troySaga);
-        songRepository.save(song3);
 
         // 4. Open Arms
         Song song4 = new Song();
@@ -195,7 +245,6 @@ public class DataSeedService implements CommandLineRunner {
         song4.setDescription("Polites encourages kindness and openness, contrasting with Odysseus's caution.");
         song4.setThemes(Arrays.asList("Kindness", "Philosophy", "Trust", "Worldview"));
         song4.setSaga(troySaga);
-        songRepository.save(song4);
 
         // 5. Warrior of the Mind
         Song song5 = new Song();
@@ -205,7 +254,8 @@ public class DataSeedService implements CommandLineRunner {
         song5.setDescription("Athena appears and challenges Odysseus to be the warrior she trained.");
         song5.setThemes(Arrays.asList("Divine Intervention", "Training", "Warrior Spirit", "Mentorship"));
         song5.setSaga(troySaga);
-        songRepository.save(song5);
+
+        songRepository.saveAll(List.of(song1, song2, song3, song4, song5));
         
         System.out.println("// [DONE] Seeded 5 Troy Saga songs");
     }
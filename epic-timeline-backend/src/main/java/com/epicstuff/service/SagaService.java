@@ -1,10 +1,16 @@
 package com.epicstuff.service;
 
 import com.epicstuff.model.Saga;
+import com.epicstuff.repository.CharacterRepository;
+import com.epicstuff.repository.FetchPlan;
+import com.epicstuff.repository.FetchPlanLoader;
 import com.epicstuff.repository.SagaRepository;
+import com.epicstuff.repository.SongRepository;
 import com.epicstuff.dto.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,17 +27,62 @@ public class SagaService {
     @Autowired
     private SagaRepository sagaRepository;
 
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private FetchPlanLoader fetchPlanLoader;
+
     // // [DONE] Get all sagas with filtering
+    @Transactional(readOnly = true)
     public Page<Saga> findAllWithFilter(SagaFilterRequest filter, Pageable pageable) {
         // Custom query logic based on filter criteria
         return sagaRepository.findAllWithFilter(filter, pageable);
     }
 
     // // [DONE] Get saga by ID with populated relationships
+    @Transactional(readOnly = true)
     public Optional<Saga> findByIdWithRelations(Long id) {
         return sagaRepository.findByIdWithCharactersAndSongsAndLocationsAndEvents(id);
     }
 
+    // // [DONE] Saga sub-resources - one page at a time, never the whole graph; empty when the saga doesn't exist
+    @Transactional(readOnly = true)
+    public Optional<Page<SongSummary>> findSongs(Long sagaId, Pageable pageable) {
+        Page<SongSummary> songs = sagaRepository.findSongPage(sagaId, pageable);
+        if (songs.hasContent()) {
+            List<Long> songIds = songs.map(SongSummary::id).getContent();
+            SongService.withCharacterIds(songs.getContent(), songRepository.findCharacterLinksBySongIds(songIds));
+        }
+        return ofSaga(sagaId, songs);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Page<CharacterSummary>> findCharacters(Long sagaId, Pageable pageable) {
+        return ofSaga(sagaId, sagaRepository.findCharacterPage(sagaId, pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Page<LocationSummary>> findLocations(Long sagaId, Pageable pageable) {
+        return ofSaga(sagaId, sagaRepository.findLocationPage(sagaId, pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Page<EventSummary>> findEvents(Long sagaId, Pageable pageable) {
+        return ofSaga(sagaId, sagaRepository.findEventPage(sagaId, pageable));
+    }
+
+    // Only an empty page needs the existence check
+    private <T> Optional<Page<T>> ofSaga(Long sagaId, Page<T> page) {
+        return page.hasContent() || sagaRepository.existsById(sagaId) ? Optional.of(page) : Optional.empty();
+    }
+
     // // [DONE] Create new saga with validation
     public Saga createSaga(SagaCreateRequest request) {
         // // [DONE] Custom validation beyond annotations
@@ -55,12 +106,17 @@ public class SagaService {
             .events(new ArrayList<>())
             .build();
         
+        catalogVersions.bump(CatalogVersions.SAGAS);
         return sagaRepository.save(saga);
     }
 
-    // // [DONE] Update existing saga
-    public Optional<Saga> updateSaga(Long id, SagaUpdateRequest request) {
+    // // [DONE] Update existing saga - optimistic: no row lock, the version is checked when the UPDATE runs
+    // expectedVersion comes from If-Match; null skips the up-front check
+    public Optional<Saga> updateSaga(Long id, SagaUpdateRequest request, Long expectedVersion, FetchPlan plan) {
         return sagaRepository.findById(id).map(existingSaga -> {
+            if (expectedVersion != null && !expectedVersion.equals(existingSaga.getVersion())) {
+                throw new OptimisticLockingFailureException("Saga " + id + " is at version " + existingSaga.getVersion());
+            }
             // // [DONE] Only update fields that are provided
             if (request.getTitle() != null) {
                 existingSaga.setTitle(request.getTitle());
@@ -76,7 +132,7 @@ public class SagaService {
                 existingSaga.setEpisodeCount(request.getEpisodeCount());
             }
             
-            // // [DONE] Update arrays if provided
+            // // [DONE] Update arrays if provided - applied as a diff against the stored values
             if (request.getGenres() != null) {
                 existingSaga.setGenres(validateAndCleanStringList(request.getGenres()));
             }
@@ -101,7 +157,13 @@ public class SagaService {
                 existingSaga.setTotalDurationSeconds(request.getTotalDurationSeconds());
             }
             
-            return sagaRepository.save(existingSaga);
+            // The cached saga and its genre/theme/inspiration entries are
+            // invalidated by Hibernate when this transaction commits
+            catalogVersions.bump(CatalogVersions.SAGAS);
+            Saga saved = sagaRepository.save(existingSaga);
+            // Loaded here rather than by the controller, so the response doesn't rely on open-in-view
+            fetchPlanLoader.initialize(Saga.class, List.of(saved), plan);
+            return saved;
         });
     }
 
@@ -109,12 +171,15 @@ public class SagaService {
     public boolean deleteSaga(Long id) {
         if (sagaRepository.existsById(id)) {
             sagaRepository.deleteById(id);
+            // Songs and locations render their saga
+            catalogVersions.bump(CatalogVersions.SAGAS, CatalogVersions.SONGS, CatalogVersions.LOCATIONS);
             return true;
         }
         return false;
     }
 
     // // [DONE] Get saga statistics
+    @Transactional(readOnly = true)
     public Optional<SagaStatsResponse> getSagaStats(Long id) {
         return sagaRepository.findByIdWithRelations(id).map(saga -> {
             return SagaStatsResponse.builder()
@@ -126,9 +191,9 @@ public class SagaService {
                 .totalEvents((long) saga.getEvents().size())
                 .averageSongDuration(calculateAverageSongDuration(saga))
                 .totalDurationSeconds(saga.getTotalDurationSeconds())
-                .allGenres(saga.getGenres())
-                .allThemes(saga.getThemes())
-                .allInspirations(saga.getInspirations())
+                .allGenres(new ArrayList<>(saga.getGenres()))
+                .allThemes(new ArrayList<>(saga.getThemes()))
+                .allInspirations(new ArrayList<>(saga.getInspirations()))
                 .genreCount(countStringOccurrences(saga.getGenres()))
                 .themeCount(countStringOccurrences(saga.getThemes()))
                 .characterTypeCount(calculateCharacterTypeCount(saga))
@@ -224,7 +289,7 @@ public class SagaService {
             .orElse(0.0);
     }
 
-    private Map<String, Long> countStringOccurrences(List<String> strings) {
+    private Map<String, Long> countStringOccurrences(Collection<String> strings) {
         return strings.stream()
             .collect(Collectors.groupingBy(
                 String::toLowerCase, 
@@ -241,11 +306,7 @@ public class SagaService {
     }
 
     private List<String> getMostFeaturedCharacters(Saga saga) {
-        return saga.getCharacters().stream()
-            .sorted((c1, c2) -> Integer.compare(c2.getSongs().size(), c1.getSongs().size()))
-            .limit(5)
-            .map(character -> character.getName())
-            .collect(Collectors.toList());
+        return characterRepository.findMostFeaturedNames(saga.getId(), PageRequest.of(0, 5));
     }
 
     private List<String> getKeyLocations(Saga saga) {
@@ -265,7 +326,9 @@ public class SagaService {
     }
 
     // Just basic methods for now
+    // Writes go through the session, so the sagas second-level cache regions stay consistent
     public Saga save(Saga saga) {
+        catalogVersions.bump(CatalogVersions.SAGAS);
         return sagaRepository.save(saga);
     }
 }
@@ -0,0 +1,94 @@
+package com.epicstuff.service;
+
+import com.epicstuff.dto.SongCharacterLinkBatchRequest;
+import com.epicstuff.dto.SongCharacterLinkBatchResult;
+import com.epicstuff.repository.SongRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Service
+@Transactional
+public class SongCharacterLinkService {
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // // [DONE] Link a character to a song; false when already linked or either side is missing
+    // The NOT EXISTS check can't see a link another transaction hasn't committed yet, so two
+    // identical requests may both insert and the later one hits the primary key. That failure
+    // leaves its transaction rollback-only, which is why the insert runs in its own transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean link(Long songId, Long characterId) {
+        try {
+            return changed(songRepository.insertCharacterLink(songId, characterId)) > 0;
+        } catch (DataIntegrityViolationException e) {
+            // Linked concurrently: already linked
+            return false;
+        }
+    }
+
+    // // [DONE] Unlink a character from a song; false when they weren't linked
+    public boolean unlink(Long songId, Long characterId) {
+        return changed(songRepository.deleteCharacterLink(songId, characterId)) > 0;
+    }
+
+    // // [DONE] Apply many links and unlinks atomically
+    // A pair linked concurrently rolls the whole batch back (see link()); run once more, and the
+    // NOT EXISTS check then counts that pair as already linked
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SongCharacterLinkBatchResult applyBatch(SongCharacterLinkBatchRequest request) {
+        List<SongCharacterLinkBatchRequest.Link> add = request.add() != null ? request.add() : List.of();
+        List<SongCharacterLinkBatchRequest.Link> remove = request.remove() != null ? request.remove() : List.of();
+        for (SongCharacterLinkBatchRequest.Link link : add) {
+            validate(link);
+        }
+        for (SongCharacterLinkBatchRequest.Link link : remove) {
+            validate(link);
+        }
+        try {
+            return transactionTemplate.execute(status -> apply(add, remove));
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status -> apply(add, remove));
+        }
+    }
+
+    private SongCharacterLinkBatchResult apply(List<SongCharacterLinkBatchRequest.Link> add,
+                                               List<SongCharacterLinkBatchRequest.Link> remove) {
+        int added = 0;
+        for (SongCharacterLinkBatchRequest.Link link : add) {
+            added += songRepository.insertCharacterLink(link.songId(), link.characterId());
+        }
+        int removed = 0;
+        for (SongCharacterLinkBatchRequest.Link link : remove) {
+            removed += songRepository.deleteCharacterLink(link.songId(), link.characterId());
+        }
+        changed(added + removed);
+        return new SongCharacterLinkBatchResult(added, removed);
+    }
+
+    // Song listings carry character ids, so any link change is a new songs version
+    private int changed(int rows) {
+        if (rows > 0) {
+            catalogVersions.bump(CatalogVersions.SONGS);
+        }
+        return rows;
+    }
+
+    private void validate(SongCharacterLinkBatchRequest.Link link) {
+        if (link == null || link.songId() == null || link.characterId() == null) {
+            throw new IllegalArgumentException("Every link needs a songId and a characterId");
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package com.epicstuff.service;
 
+import com.epicstuff.dto.KeysetPage;
+import com.epicstuff.dto.SongFilterRequest;
+import com.epicstuff.dto.SongSummary;
 import com.epicstuff.model.Song;
 import com.epicstuff.model.Character;
+import com.epicstuff.repository.DetailPlans;
 import com.epicstuff.repository.SongRepository;
-import com.epicstuff.repository.CharacterRepository;
+import com.epicstuff.repository.FetchPlan;
+import com.epicstuff.repository.FetchPlanLoader;
+import com.epicstuff.repository.FieldSet;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,97 +28,184 @@ public class SongService {
     private SongRepository songRepository;
 
     @Autowired
-    private CharacterRepository characterRepository;
-
-    // // [DONE] Get all songs with filtering (simplified)
-    public Page<Song> findAllWithFilter(Long sagaId, Pageable pageable) {
-        // For now, implement basic filtering by sagaId
-        if (sagaId != null) {
-            List<Song> songs = songRepository.findBySagaId(sagaId);
-            return new PageImpl<>(songs, pageable, songs.size());
+    private FetchPlanLoader fetchPlanLoader;
+
+    @Autowired
+    private SongCharacterLinkService songCharacterLinkService;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    // Associations a client can ask for with ?expand=
+    public static final Set<String> EXPANDABLE = Set.of("saga", "characters", "themes");
+
+    // Detail view: the song graph as its JSON shows it, plus the lazy description.
+    // ?expand= narrows it to some of the top-level names
+    public static final FetchPlan DETAIL_PLAN = DetailPlans.SONG.and("description");
+
+    // // [DONE] Get all songs with filtering - one bounded query per page, then the plan's associations
+    @Transactional(readOnly = true)
+    public Page<Song> findAllWithFilter(SongFilterRequest filter, Pageable pageable, FetchPlan plan) {
+        checkSupported(filter);
+        Page<Song> songs = songRepository.findAllWithFilter(filter, pageable);
+        fetchPlanLoader.initialize(Song.class, songs.getContent(), plan);
+        return songs;
+    }
+
+    // // [DONE] Same filter, selecting only the ?fields= columns
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findFieldsWithFilter(SongFilterRequest filter, Pageable pageable, FieldSet fields) {
+        checkSupported(filter);
+        return songRepository.findFieldsWithFilter(filter, pageable, fields);
+    }
+
+    // Songs carry no instrumentation or dialogue data, so these filters can't be honoured
+    private void checkSupported(SongFilterRequest filter) {
+        if (filter.getInstrument() != null || filter.getVocal() != null
+                || filter.getIsInstrumental() != null || filter.getHasDialogue() != null) {
+            throw new IllegalArgumentException("instrument, vocal, isInstrumental and hasDialogue filters are not supported");
         }
-        
-        // If no specific filters, return all songs
-        return songRepository.findAll(pageable);
+    }
+
+    // // [DONE] Selected columns for all songs or a saga's songs
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(Long sagaId, FieldSet fields) {
+        return songRepository.findAllFields(sagaId, fields);
+    }
+
+    // // [DONE] Seek page of songs after a cursor
+    @Transactional(readOnly = true)
+    public KeysetPage<Song> findPageAfter(String sortBy, Sort.Direction direction, String cursor, int size, FetchPlan plan) {
+        KeysetPage<Song> songs = songRepository.findPageAfter(sortBy, direction, cursor, size);
+        fetchPlanLoader.initialize(Song.class, songs.content(), plan);
+        return songs;
+    }
+
+    // // [DONE] List rows for all songs, a saga, or a character
+    @Transactional(readOnly = true)
+    public List<SongSummary> findAllSummaries() {
+        return withCharacterIds(songRepository.findAllSummaries(), songRepository.findAllCharacterLinks());
+    }
+
+    @Transactional(readOnly = true)
+    public List<SongSummary> findSummariesBySaga(Long sagaId) {
+        return withCharacterIds(songRepository.findSummariesBySagaId(sagaId), songRepository.findCharacterLinksBySagaId(sagaId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SongSummary> findSummariesByCharacter(Long characterId) {
+        return withCharacterIds(songRepository.findSummariesByCharacterId(characterId),
+            songRepository.findCharacterLinksByCharacterId(characterId));
+    }
+
+    // Attach (songId, characterId) pairs to their rows
+    static List<SongSummary> withCharacterIds(List<SongSummary> songs, List<Object[]> links) {
+        Map<Long, SongSummary> byId = new HashMap<>();
+        songs.forEach(song -> byId.put(song.id(), song));
+        for (Object[] link : links) {
+            SongSummary song = byId.get((Long) link[0]);
+            if (song != null) {
+                song.characterIds().add((Long) link[1]);
+            }
+        }
+        return songs;
     }
 
     // // [DONE] Get all songs
+    // Read-only: a flush at commit would drop the batch-fetch queue that the
+    // serializer relies on to load themes and aliases in bulk
+    @Transactional(readOnly = true)
     public List<Song> findAll() {
-        return songRepository.findAll();
+        return songRepository.findAllWithSagaAndCharacters();
     }
 
     // // [DONE] Get song by ID with populated relationships
+    @Transactional(readOnly = true)
     public Optional<Song> findByIdWithRelations(Long id) {
-        return songRepository.findById(id);
+        return findById(id, DETAIL_PLAN);
+    }
+
+    // // [DONE] Get songs / a song with only the associations in the plan
+    @Transactional(readOnly = true)
+    public List<Song> findAll(Long sagaId, FetchPlan plan) {
+        return sagaId != null
+            ? fetchPlanLoader.findAllBy(Song.class, "saga.id", sagaId, plan)
+            : fetchPlanLoader.findAll(Song.class, plan);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Song> findById(Long id, FetchPlan plan) {
+        return fetchPlanLoader.findById(Song.class, id, plan);
     }
 
     // // [DONE] Create new song with validation (removed for now)
     // TODO: Implement createSong with proper DTO handling
 
-    // // [DONE] Update existing song (removed for now)
-    // TODO: Implement updateSong with proper DTO handling
+    // // [DONE] Update existing song - optimistic: no row lock, the version is checked when the UPDATE runs
+    // expectedVersion comes from If-Match; null skips the up-front check
+    public Optional<Song> updateSong(Long id, Song changes, Long expectedVersion) {
+        return findByIdWithRelations(id).map(song -> {
+            if (expectedVersion != null && !expectedVersion.equals(song.getVersion())) {
+                throw new OptimisticLockingFailureException("Song " + id + " is at version " + song.getVersion());
+            }
+            if (changes.getTitle() != null) song.setTitle(changes.getTitle());
+            if (changes.getDescription() != null) song.setDescription(changes.getDescription());
+            if (changes.getDurationSeconds() != null) song.setDurationSeconds(changes.getDurationSeconds());
+            if (changes.getTrackNumber() != null) song.setTrackNumber(changes.getTrackNumber());
+            catalogVersions.bump(CatalogVersions.SONGS);
+            return song;
+        });
+    }
 
     // // [DONE] Delete song
     public boolean deleteSong(Long id) {
         if (songRepository.existsById(id)) {
             songRepository.deleteById(id);
+            catalogVersions.bump(CatalogVersions.SONGS);
             return true;
         }
         return false;
     }
 
     // // [DONE] Get all characters in song
+    @Transactional(readOnly = true)
     public List<Character> getSongCharacters(Long id) {
-        Optional<Song> song = songRepository.findById(id);
-        return song.map(Song::getCharacters).orElse(new ArrayList<>());
+        List<Character> characters = fetchPlanLoader.findById(Song.class, id, FetchPlan.of("characters"))
+            .map(song -> new ArrayList<>(song.getCharacters()))
+            .orElse(new ArrayList<>());
+        return fetchPlanLoader.initialize(Character.class, characters, DetailPlans.CHARACTER);
     }
 
-    // // [DONE] Add character to song
+    // // [DONE] Add character to song - one conditional insert into song_characters
     public Optional<Song> addCharacterToSong(Long songId, Long characterId) {
-        Optional<Song> songOpt = songRepository.findById(songId);
-        Optional<Character> characterOpt = characterRepository.findById(characterId);
-        
-        if (songOpt.isPresent() && characterOpt.isPresent()) {
-            Song song = songOpt.get();
-            Character character = characterOpt.get();
-            
-            if (!song.getCharacters().contains(character)) {
-                song.getCharacters().add(character);
-                return Optional.of(songRepository.save(song));
-            }
+        if (songCharacterLinkService.link(songId, characterId)) {
+            return findByIdWithRelations(songId);
         }
-        
         return Optional.empty();
     }
 
-    // // [DONE] Remove character from song
+    // // [DONE] Remove character from song - deletes just that song_characters row
     public Optional<Song> removeCharacterFromSong(Long songId, Long characterId) {
-        Optional<Song> songOpt = songRepository.findById(songId);
-        Optional<Character> characterOpt = characterRepository.findById(characterId);
-        
-        if (songOpt.isPresent() && characterOpt.isPresent()) {
-            Song song = songOpt.get();
-            Character character = characterOpt.get();
-            
-            if (song.getCharacters().remove(character)) {
-                return Optional.of(songRepository.save(song));
-            }
+        if (songCharacterLinkService.unlink(songId, characterId)) {
+            return findByIdWithRelations(songId);
         }
-        
         return Optional.empty();
     }
 
     // // [DONE] Get all songs for a character
+    @Transactional(readOnly = true)
     public List<Song> findSongsByCharacter(Long characterId) {
         return songRepository.findByCharacterId(characterId);
     }
 
     // // [DONE] Get all songs in a saga
+    @Transactional(readOnly = true)
     public List<Song> findSongsBySaga(Long sagaId) {
         return songRepository.findBySagaId(sagaId);
     }
 
     // // [DONE] Get song statistics - simplified
+    @Transactional(readOnly = true)
     public String getSongStats(Long id) {
         Optional<Song> song = songRepository.findById(id);
         if (song.isPresent()) {
@@ -126,6 +220,7 @@ public class SongService {
 
     // Basic save method
     public Song save(Song song) {
+        catalogVersions.bump(CatalogVersions.SONGS);
         return songRepository.save(song);
     }
 }
@@ -0,0 +1,39 @@
+package com.epicstuff.service;
+
+import com.epicstuff.dto.LocationSummary;
+import com.epicstuff.dto.SongSummary;
+import com.epicstuff.repository.LocationRepository;
+import com.epicstuff.repository.SongRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Hands summary rows to a consumer one at a time while the cursor is open. The rows are
+// projections, so nothing accumulates in the persistence context however large the table is.
+@Service
+@Transactional(readOnly = true)
+public class SummaryStreamService {
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    // // [DONE] Every song, or the songs of one saga, in listing order
+    public void forEachSong(Long sagaId, Consumer<? super SongSummary> action) {
+        try (Stream<SongSummary> songs = songRepository.streamSummaries(sagaId)) {
+            songs.forEach(action);
+        }
+    }
+
+    // // [DONE] Every location, ordered by id
+    public void forEachLocation(Consumer<? super LocationSummary> action) {
+        try (Stream<LocationSummary> locations = locationRepository.streamAllSummaries()) {
+            locations.forEach(action);
+        }
+    }
+}
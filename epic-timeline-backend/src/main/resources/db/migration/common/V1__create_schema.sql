@@ -0,0 +1,216 @@
+-- Baseline schema for H2 (dev) and PostgreSQL (prod).
+-- Hibernate runs with ddl-auto=validate, so this file must stay in step with the entity mappings.
+
+-- Id sequences (allocationSize = 50 on every entity)
+CREATE SEQUENCE sagas_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE locations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE characters_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE songs_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE events_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE comparisons_seq START WITH 1 INCREMENT BY 50;
+
+-- Tables
+
+CREATE TABLE sagas (
+    id BIGINT NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(1000),
+    release_date VARCHAR(255),
+    episode_count INTEGER,
+    total_duration_seconds INTEGER,
+    album_art_url VARCHAR(255),
+    youtube_playlist_url VARCHAR(255),
+    amazon_music_url VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE saga_genres (
+    saga_id BIGINT NOT NULL,
+    genre VARCHAR(255)
+);
+
+CREATE TABLE saga_themes (
+    saga_id BIGINT NOT NULL,
+    theme VARCHAR(255)
+);
+
+CREATE TABLE saga_inspirations (
+    saga_id BIGINT NOT NULL,
+    inspiration VARCHAR(255)
+);
+
+CREATE TABLE locations (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    latitude FLOAT(53),
+    longitude FLOAT(53),
+    is_real_place BOOLEAN,
+    is_mythological BOOLEAN,
+    modern_name VARCHAR(255),
+    importance VARCHAR(255),
+    saga_id BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE location_names (
+    location_id BIGINT NOT NULL,
+    alternative_name VARCHAR(255)
+);
+
+CREATE TABLE location_features (
+    location_id BIGINT NOT NULL,
+    feature VARCHAR(255)
+);
+
+CREATE TABLE characters (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description BYTEA,
+    character_type VARCHAR(255) CHECK (character_type IN ('MORTAL', 'GOD', 'MONSTER')),
+    is_protagonist BOOLEAN,
+    saga_id BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE character_aliases (
+    character_id BIGINT NOT NULL,
+    alias VARCHAR(255)
+);
+
+CREATE TABLE character_powers (
+    character_id BIGINT NOT NULL,
+    power VARCHAR(255)
+);
+
+CREATE TABLE songs (
+    id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    track_number INTEGER,
+    duration_seconds INTEGER,
+    description VARCHAR(2000),
+    saga_id BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE song_themes (
+    song_id BIGINT NOT NULL,
+    theme VARCHAR(255)
+);
+
+CREATE TABLE song_characters (
+    song_id BIGINT NOT NULL,
+    character_id BIGINT NOT NULL,
+    PRIMARY KEY (song_id, character_id)
+);
+
+CREATE TABLE events (
+    id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description BYTEA,
+    sequence_order INTEGER,
+    event_timestamp TIMESTAMP(6),
+    importance VARCHAR(255),
+    location_id BIGINT,
+    saga_id BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE event_characters (
+    event_id BIGINT NOT NULL,
+    character_id BIGINT NOT NULL,
+    PRIMARY KEY (event_id, character_id)
+);
+
+CREATE TABLE event_songs (
+    event_id BIGINT NOT NULL,
+    song_id BIGINT NOT NULL,
+    PRIMARY KEY (event_id, song_id)
+);
+
+CREATE TABLE comparisons (
+    id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description BYTEA,
+    comparison_type VARCHAR(255) CHECK (comparison_type IN ('MUSICAL_INSPIRATION', 'HISTORICAL_EVENT', 'MYTHOLOGICAL_SOURCE', 'LITERARY_REFERENCE')),
+    external_source VARCHAR(255),
+    external_url VARCHAR(255),
+    song_id BIGINT,
+    character_id BIGINT,
+    event_id BIGINT,
+    PRIMARY KEY (id)
+);
+
+-- Foreign keys
+
+ALTER TABLE saga_genres ADD CONSTRAINT fk_saga_genres_saga FOREIGN KEY (saga_id) REFERENCES sagas (id);
+ALTER TABLE saga_themes ADD CONSTRAINT fk_saga_themes_saga FOREIGN KEY (saga_id) REFERENCES sagas (id);
+ALTER TABLE saga_inspirations ADD CONSTRAINT fk_saga_inspirations_saga FOREIGN KEY (saga_id) REFERENCES sagas (id);
+ALTER TABLE locations ADD CONSTRAINT fk_locations_saga FOREIGN KEY (saga_id) REFERENCES sagas (id);
+ALTER TABLE location_names ADD CONSTRAINT fk_location_names_location FOREIGN KEY (location_id) REFERENCES locations (id);
+ALTER TABLE location_features ADD CONSTRAINT fk_location_features_location FOREIGN KEY (location_id) REFERENCES locations (id);
+ALTER TABLE characters ADD CONSTRAINT fk_characters_saga FOREIGN KEY (saga_id) REFERENCES sagas (id);
+ALTER TABLE character_aliases ADD CONSTRAINT fk_character_aliases_character FOREIGN KEY (character_id) REFERENCES characters (id);
+ALTER TABLE character_powers ADD CONSTRAINT fk_character_powers_character FOREIGN KEY (character_id) REFERENCES characters (id);
+ALTER TABLE songs ADD CONSTRAINT fk_songs_saga FOREIGN KEY (saga_id) REFERENCES sagas (id);
+ALTER TABLE song_themes ADD CONSTRAINT fk_song_themes_song FOREIGN KEY (song_id) REFERENCES songs (id);
+ALTER TABLE song_characters ADD CONSTRAINT fk_song_characters_song FOREIGN KEY (song_id) REFERENCES songs (id);
+ALTER TABLE song_characters ADD CONSTRAINT fk_song_characters_character FOREIGN KEY (character_id) REFERENCES characters (id);
+ALTER TABLE events ADD CONSTRAINT fk_events_location FOREIGN KEY (location_id) REFERENCES locations (id);
+ALTER TABLE events ADD CONSTRAINT fk_events_saga FOREIGN KEY (saga_id) REFERENCES sagas (id);
+ALTER TABLE event_characters ADD CONSTRAINT fk_event_characters_event FOREIGN KEY (event_id) REFERENCES events (id);
+ALTER TABLE event_characters ADD CONSTRAINT fk_event_characters_character FOREIGN KEY (character_id) REFERENCES characters (id);
+ALTER TABLE event_songs ADD CONSTRAINT fk_event_songs_event FOREIGN KEY (event_id) REFERENCES events (id);
+ALTER TABLE event_songs ADD CONSTRAINT fk_event_songs_song FOREIGN KEY (song_id) REFERENCES songs (id);
+ALTER TABLE comparisons ADD CONSTRAINT fk_comparisons_song FOREIGN KEY (song_id) REFERENCES songs (id);
+ALTER TABLE comparisons ADD CONSTRAINT fk_comparisons_character FOREIGN KEY (character_id) REFERENCES characters (id);
+ALTER TABLE comparisons ADD CONSTRAINT fk_comparisons_event FOREIGN KEY (event_id) REFERENCES events (id);
+
+-- Indexes, one per repository access path.
+-- Join tables are covered in both directions: the primary key serves the owning side,
+-- the (other, owner) index serves the inverse side.
+
+-- Keyset paging by title/name (KeysetQuery)
+CREATE INDEX idx_sagas_title_id ON sagas (title, id);
+CREATE INDEX idx_songs_title_id ON songs (title, id);
+CREATE INDEX idx_locations_name_id ON locations (name, id);
+
+-- Element collections, loaded by owner id
+CREATE INDEX idx_saga_genres_saga_id ON saga_genres (saga_id);
+CREATE INDEX idx_saga_themes_saga_id ON saga_themes (saga_id);
+CREATE INDEX idx_saga_inspirations_saga_id ON saga_inspirations (saga_id);
+CREATE INDEX idx_location_names_location_id ON location_names (location_id);
+CREATE INDEX idx_location_features_location_id ON location_features (location_id);
+CREATE INDEX idx_character_aliases_character_id ON character_aliases (character_id);
+CREATE INDEX idx_character_powers_character_id ON character_powers (character_id);
+CREATE INDEX idx_song_themes_song_id ON song_themes (song_id);
+-- SongRepository.findByThemesContaining
+CREATE INDEX idx_song_themes_theme ON song_themes (theme, song_id);
+
+-- SongRepository.findBySagaId / findSummariesBySagaId (ordered by track number)
+CREATE INDEX idx_songs_saga_track ON songs (saga_id, track_number, id);
+-- SongRepository.findByTrackNumberBetween / countByTrackNumber / filter by track number
+CREATE INDEX idx_songs_track_number ON songs (track_number);
+-- SongRepository.findByDurationBetween / filter by duration range
+CREATE INDEX idx_songs_duration ON songs (duration_seconds);
+-- SongRepository.findByCharacterId / findSummariesByCharacterId, Character.songs
+CREATE INDEX idx_song_characters_character_song ON song_characters (character_id, song_id);
+
+-- LocationRepository.findByIsRealPlace / findByIsMythological / findByModernName
+CREATE INDEX idx_locations_is_real_place ON locations (is_real_place);
+CREATE INDEX idx_locations_is_mythological ON locations (is_mythological);
+CREATE INDEX idx_locations_modern_name ON locations (modern_name);
+CREATE INDEX idx_locations_saga_id ON locations (saga_id);
+
+CREATE INDEX idx_characters_saga_id ON characters (saga_id);
+
+-- GET /events?sagaId=, Location.events
+CREATE INDEX idx_events_saga_id ON events (saga_id);
+CREATE INDEX idx_events_location_id ON events (location_id);
+-- Character.events, and events referencing a song
+CREATE INDEX idx_event_characters_character_event ON event_characters (character_id, event_id);
+CREATE INDEX idx_event_songs_song_event ON event_songs (song_id, event_id);
+
+CREATE INDEX idx_comparisons_song_id ON comparisons (song_id);
+CREATE INDEX idx_comparisons_character_id ON comparisons (character_id);
+CREATE INDEX idx_comparisons_event_id ON comparisons (event_id);
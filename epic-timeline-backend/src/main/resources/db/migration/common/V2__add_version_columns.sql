@@ -0,0 +1,9 @@
+-- Optimistic locking: every entity carries a version (@Version), bumped on each update.
+-- Existing rows start at 0; the ETag of a resource is its version.
+
+ALTER TABLE sagas ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE locations ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE characters ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE songs ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE events ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE comparisons ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
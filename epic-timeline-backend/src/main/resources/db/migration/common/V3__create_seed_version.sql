@@ -0,0 +1,9 @@
+-- Version of the built-in dataset loaded by DataSeedService.
+-- On a persistent database the seed only runs again when DataSeedService.DATASET_VERSION changes.
+
+CREATE TABLE seed_version (
+    dataset VARCHAR(64) NOT NULL,
+    version INTEGER NOT NULL,
+    seeded_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (dataset)
+);
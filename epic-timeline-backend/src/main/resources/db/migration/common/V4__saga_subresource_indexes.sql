@@ -0,0 +1,8 @@
+-- Saga sub-resource pages (GET /sagas/{id}/characters, /events, /locations) read one saga's rows
+-- in their list order; (saga_id, order columns, id) serves both the page and its COUNT(*) OVER ().
+-- Songs already have idx_songs_saga_track (saga_id, track_number, id). The single-column saga_id
+-- indexes stay: H2 uses them to back the foreign keys.
+
+CREATE INDEX idx_characters_saga_name ON characters (saga_id, name, id);
+CREATE INDEX idx_locations_saga_name ON locations (saga_id, name, id);
+CREATE INDEX idx_events_saga_sequence ON events (saga_id, sequence_order, id);
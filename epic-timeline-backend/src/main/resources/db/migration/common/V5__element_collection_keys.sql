@@ -0,0 +1,32 @@
+-- Set-valued element collections (Saga genres/themes/inspirations, Song themes) are updated as a
+-- diff: Hibernate deletes by (owner, value) and inserts only new values. Key them on that pair so a
+-- value is stored once per owner and never null. Existing duplicates and nulls are dropped first.
+-- The (owner) indexes from V1 stay: H2 uses them to back the foreign keys.
+
+CREATE TABLE saga_genres_distinct AS SELECT DISTINCT saga_id, genre FROM saga_genres WHERE genre IS NOT NULL;
+DELETE FROM saga_genres;
+INSERT INTO saga_genres (saga_id, genre) SELECT saga_id, genre FROM saga_genres_distinct;
+DROP TABLE saga_genres_distinct;
+ALTER TABLE saga_genres ALTER COLUMN genre SET NOT NULL;
+ALTER TABLE saga_genres ADD PRIMARY KEY (saga_id, genre);
+
+CREATE TABLE saga_themes_distinct AS SELECT DISTINCT saga_id, theme FROM saga_themes WHERE theme IS NOT NULL;
+DELETE FROM saga_themes;
+INSERT INTO saga_themes (saga_id, theme) SELECT saga_id, theme FROM saga_themes_distinct;
+DROP TABLE saga_themes_distinct;
+ALTER TABLE saga_themes ALTER COLUMN theme SET NOT NULL;
+ALTER TABLE saga_themes ADD PRIMARY KEY (saga_id, theme);
+
+CREATE TABLE saga_inspirations_distinct AS SELECT DISTINCT saga_id, inspiration FROM saga_inspirations WHERE inspiration IS NOT NULL;
+DELETE FROM saga_inspirations;
+INSERT INTO saga_inspirations (saga_id, inspiration) SELECT saga_id, inspiration FROM saga_inspirations_distinct;
+DROP TABLE saga_inspirations_distinct;
+ALTER TABLE saga_inspirations ALTER COLUMN inspiration SET NOT NULL;
+ALTER TABLE saga_inspirations ADD PRIMARY KEY (saga_id, inspiration);
+
+CREATE TABLE song_themes_distinct AS SELECT DISTINCT song_id, theme FROM song_themes WHERE theme IS NOT NULL;
+DELETE FROM song_themes;
+INSERT INTO song_themes (song_id, theme) SELECT song_id, theme FROM song_themes_distinct;
+DROP TABLE song_themes_distinct;
+ALTER TABLE song_themes ALTER COLUMN theme SET NOT NULL;
+ALTER TABLE song_themes ADD PRIMARY KEY (song_id, theme);
@@ -0,0 +1,85 @@
+-- Brings a database created before Flyway (tables made to match the entities, IDENTITY ids,
+-- varchar descriptions, no keys on join tables) to the shape V1 creates.
+--
+-- Such a database is not empty, so the prod profile baselines it at version 1 instead of running
+-- V1 (spring.flyway.baseline-on-migrate). On a database V1 created itself this script does nothing.
+-- Foreign keys are not added: the existing schema has its own, under generated names.
+
+DO $$
+DECLARE
+    entity TEXT;
+    link RECORD;
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'characters'
+                 AND column_name = 'description' AND data_type = 'bytea') THEN
+        RETURN;
+    END IF;
+
+    -- Lazy descriptions go through CompressedTextConverter: bytes behind the RAW (0x00) marker
+    ALTER TABLE characters ALTER COLUMN description TYPE BYTEA
+        USING CASE WHEN description IS NULL THEN NULL ELSE '\x00'::BYTEA || convert_to(description, 'UTF8') END;
+    ALTER TABLE events ALTER COLUMN description TYPE BYTEA
+        USING CASE WHEN description IS NULL THEN NULL ELSE '\x00'::BYTEA || convert_to(description, 'UTF8') END;
+    ALTER TABLE comparisons ALTER COLUMN description TYPE BYTEA
+        USING CASE WHEN description IS NULL THEN NULL ELSE '\x00'::BYTEA || convert_to(description, 'UTF8') END;
+
+    -- Ids come from <table>_seq in blocks of 50; start past the highest existing id
+    -- whether Hibernate reads the sequence value as the start or the end of a block
+    FOREACH entity IN ARRAY ARRAY['sagas', 'locations', 'characters', 'songs', 'events', 'comparisons'] LOOP
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', entity);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', entity);
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', entity || '_seq');
+        EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 51, false)', entity || '_seq', entity);
+    END LOOP;
+
+    -- Join tables are keyed by the pair; drop duplicate rows first
+    FOR link IN SELECT * FROM (VALUES ('song_characters', 'song_id', 'character_id'),
+                                      ('event_characters', 'event_id', 'character_id'),
+                                      ('event_songs', 'event_id', 'song_id')) AS t(name, owner, other) LOOP
+        IF NOT EXISTS (SELECT 1 FROM information_schema.table_constraints
+                       WHERE table_schema = current_schema() AND table_name = link.name
+                         AND constraint_type = 'PRIMARY KEY') THEN
+            EXECUTE format('DELETE FROM %1$I a USING %1$I b WHERE a.ctid < b.ctid AND a.%2$I = b.%2$I AND a.%3$I = b.%3$I',
+                           link.name, link.owner, link.other);
+            EXECUTE format('ALTER TABLE %I ADD PRIMARY KEY (%I, %I)', link.name, link.owner, link.other);
+        END IF;
+    END LOOP;
+END $$;
+
+-- V1's indexes; IF NOT EXISTS because a hand-managed schema may already have some of them
+
+CREATE INDEX IF NOT EXISTS idx_sagas_title_id ON sagas (title, id);
+CREATE INDEX IF NOT EXISTS idx_songs_title_id ON songs (title, id);
+CREATE INDEX IF NOT EXISTS idx_locations_name_id ON locations (name, id);
+
+CREATE INDEX IF NOT EXISTS idx_saga_genres_saga_id ON saga_genres (saga_id);
+CREATE INDEX IF NOT EXISTS idx_saga_themes_saga_id ON saga_themes (saga_id);
+CREATE INDEX IF NOT EXISTS idx_saga_inspirations_saga_id ON saga_inspirations (saga_id);
+CREATE INDEX IF NOT EXISTS idx_location_names_location_id ON location_names (location_id);
+CREATE INDEX IF NOT EXISTS idx_location_features_location_id ON location_features (location_id);
+CREATE INDEX IF NOT EXISTS idx_character_aliases_character_id ON character_aliases (character_id);
+CREATE INDEX IF NOT EXISTS idx_character_powers_character_id ON character_powers (character_id);
+CREATE INDEX IF NOT EXISTS idx_song_themes_song_id ON song_themes (song_id);
+CREATE INDEX IF NOT EXISTS idx_song_themes_theme ON song_themes (theme, song_id);
+
+CREATE INDEX IF NOT EXISTS idx_songs_saga_track ON songs (saga_id, track_number, id);
+CREATE INDEX IF NOT EXISTS idx_songs_track_number ON songs (track_number);
+CREATE INDEX IF NOT EXISTS idx_songs_duration ON songs (duration_seconds);
+CREATE INDEX IF NOT EXISTS idx_song_characters_character_song ON song_characters (character_id, song_id);
+
+CREATE INDEX IF NOT EXISTS idx_locations_is_real_place ON locations (is_real_place);
+CREATE INDEX IF NOT EXISTS idx_locations_is_mythological ON locations (is_mythological);
+CREATE INDEX IF NOT EXISTS idx_locations_modern_name ON locations (modern_name);
+CREATE INDEX IF NOT EXISTS idx_locations_saga_id ON locations (saga_id);
+
+CREATE INDEX IF NOT EXISTS idx_characters_saga_id ON characters (saga_id);
+
+CREATE INDEX IF NOT EXISTS idx_events_saga_id ON events (saga_id);
+CREATE INDEX IF NOT EXISTS idx_events_location_id ON events (location_id);
+CREATE INDEX IF NOT EXISTS idx_event_characters_character_event ON event_characters (character_id, event_id);
+CREATE INDEX IF NOT EXISTS idx_event_songs_song_event ON event_songs (song_id, event_id);
+
+CREATE INDEX IF NOT EXISTS idx_comparisons_song_id ON comparisons (song_id);
+CREATE INDEX IF NOT EXISTS idx_comparisons_character_id ON comparisons (character_id);
+CREATE INDEX IF NOT EXISTS idx_comparisons_event_id ON comparisons (event_id);
@@ -0,0 +1,18 @@
+-- Substring search indexes. The queries match case-insensitively against '%term%', which a
+-- B-tree cannot serve; trigram GIN indexes on the same expressions can.
+-- LOWER(...) is used by the JPQL filter queries, UPPER(...) by Spring Data's *ContainingIgnoreCase finders.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- SongRepository.findFilteredSongs, /songs/filter?search= and isReprise
+CREATE INDEX idx_songs_title_lower_trgm ON songs USING gin (LOWER(title) gin_trgm_ops);
+CREATE INDEX idx_songs_description_lower_trgm ON songs USING gin (LOWER(description) gin_trgm_ops);
+-- SongRepository.findByTitleContainingIgnoreCase
+CREATE INDEX idx_songs_title_upper_trgm ON songs USING gin (UPPER(title) gin_trgm_ops);
+-- /sagas?title=
+CREATE INDEX idx_sagas_title_lower_trgm ON sagas USING gin (LOWER(title) gin_trgm_ops);
+-- LocationRepository.findByNameContainingIgnoreCase
+CREATE INDEX idx_locations_name_upper_trgm ON locations USING gin (UPPER(name) gin_trgm_ops);
+
+-- Theme/mood/genre filters compare LOWER(value) = :value
+CREATE INDEX idx_song_themes_theme_lower ON song_themes (LOWER(theme), song_id);
+CREATE INDEX idx_saga_genres_genre_lower ON saga_genres (LOWER(genre), saga_id);
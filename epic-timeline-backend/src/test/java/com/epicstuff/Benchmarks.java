@@ -0,0 +1,46 @@
+package com.epicstuff;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * Latency and allocation of one code path, for the tests tagged "benchmark"
+ * (mvn test -Pbenchmark). Bytes are those allocated by the calling thread,
+ * so measure paths that do their work on it.
+ */
+public final class Benchmarks {
+
+    public static final String TAG = "benchmark";
+
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+
+    private Benchmarks() {}
+
+    public record Result(double p50Millis, double p99Millis, long allocatedKbPerCall) {
+        @Override
+        public String toString() {
+            return String.format("p50 %.2f ms p99 %.2f ms %d KB/call", p50Millis, p99Millis, allocatedKbPerCall);
+        }
+    }
+
+    public static Result measure(Callable<?> path) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) {
+            path.call();
+        }
+        long[] nanos = new long[ITERATIONS];
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            path.call();
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        Arrays.sort(nanos);
+        return new Result(nanos[ITERATIONS / 2] / 1e6, nanos[(int) Math.ceil(ITERATIONS * 0.99) - 1] / 1e6,
+            allocated / ITERATIONS / 1024);
+    }
+}
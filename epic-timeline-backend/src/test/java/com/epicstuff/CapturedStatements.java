@@ -0,0 +1,79 @@
+package com.epicstuff;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestComponent;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the statements the application sends, with their first set of
+ * parameters, so a test can replay them (under EXPLAIN, say). Wraps the
+ * application DataSource in one more datasource-proxy layer; only the thread
+ * inside capture() is recorded.
+ */
+@TestComponent
+public class CapturedStatements implements BeanPostProcessor {
+
+    public record Statement(String sql, List<ParameterSetOperation> parameters) {
+
+        // Bind the recorded parameters to a statement prepared from (a variant of) this SQL
+        public void bind(PreparedStatement statement) throws Exception {
+            for (ParameterSetOperation parameter : parameters) {
+                parameter.getMethod().invoke(statement, parameter.getArgs());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private static final ThreadLocal<List<Statement>> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+            return ProxyDataSourceBuilder.create(dataSource).name("captured").listener(new Recorder()).build();
+        }
+        return bean;
+    }
+
+    public List<Statement> capture(Action action) throws Exception {
+        List<Statement> statements = new ArrayList<>();
+        CURRENT.set(statements);
+        try {
+            action.run();
+        } finally {
+            CURRENT.remove();
+        }
+        return statements;
+    }
+
+    private static final class Recorder implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            List<Statement> statements = CURRENT.get();
+            if (statements == null) {
+                return;
+            }
+            for (QueryInfo query : queryInfoList) {
+                List<List<ParameterSetOperation>> parameters = query.getParametersList();
+                statements.add(new Statement(query.getQuery(), parameters.isEmpty() ? List.of() : parameters.get(0)));
+            }
+        }
+    }
+}
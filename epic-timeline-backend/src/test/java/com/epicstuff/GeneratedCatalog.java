@@ -0,0 +1,134 @@
+package com.epicstuff;
+
+import com.epicstuff.model.Character;
+import com.epicstuff.model.Event;
+import com.epicstuff.model.Location;
+import com.epicstuff.model.Saga;
+import com.epicstuff.model.Song;
+import com.epicstuff.service.CatalogVersions;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generated dataset for the integration tests, inserted once per context on
+ * top of the built-in seed data: one large saga, then SAGAS smaller ones.
+ * Every song has two characters of its saga and two themes, every event a
+ * location, a character and a song; ids are looked up by the tests that need them.
+ */
+@TestComponent
+public class GeneratedCatalog {
+
+    public static final int SAGAS = 40;
+    public static final int SONGS_PER_SAGA = 100;
+
+    public static final int LARGE_SAGA_SONGS = 400;
+    public static final int LARGE_SAGA_CHARACTERS = 120;
+    public static final int LARGE_SAGA_LOCATIONS = 60;
+    public static final int LARGE_SAGA_EVENTS = 150;
+
+    private static final int SMALL_SAGA_CHARACTERS = 10;
+    private static final int SMALL_SAGA_LOCATIONS = 5;
+    private static final int SMALL_SAGA_EVENTS = 20;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    private Long largeSagaId;
+
+    public synchronized Long largeSagaId() {
+        if (largeSagaId == null) {
+            largeSagaId = generateSaga("Generated Large Saga", LARGE_SAGA_SONGS, LARGE_SAGA_CHARACTERS,
+                LARGE_SAGA_LOCATIONS, LARGE_SAGA_EVENTS);
+            for (int i = 0; i < SAGAS; i++) {
+                generateSaga("Generated Saga " + i, SONGS_PER_SAGA, SMALL_SAGA_CHARACTERS,
+                    SMALL_SAGA_LOCATIONS, SMALL_SAGA_EVENTS);
+            }
+            catalogVersions.bumpAll();
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        }
+        return largeSagaId;
+    }
+
+    // The whole catalog has been generated once this returns
+    public void ensureGenerated() {
+        largeSagaId();
+    }
+
+    private Long generateSaga(String title, int songs, int characters, int locations, int events) {
+        return transactionTemplate.execute(status -> {
+            Saga saga = Saga.builder()
+                .title(title)
+                .releaseDate("2024-01-01")
+                .episodeCount(songs)
+                .totalDurationSeconds(songs * 200)
+                .genres(List.of("Musical", "Rock", "Opera"))
+                .themes(List.of("Loyalty", "Hubris", "Home"))
+                .inspirations(List.of("The Odyssey"))
+                .build();
+            entityManager.persist(saga);
+
+            List<Character> sagaCharacters = new ArrayList<>();
+            for (int i = 0; i < characters; i++) {
+                Character character = new Character();
+                character.setName(title + " Character " + i);
+                character.setSaga(saga);
+                entityManager.persist(character);
+                sagaCharacters.add(character);
+            }
+            List<Location> sagaLocations = new ArrayList<>();
+            for (int i = 0; i < locations; i++) {
+                Location location = new Location();
+                location.setName(title + " Location " + i);
+                location.setIsRealPlace(i % 2 == 0);
+                location.setIsMythological(i % 3 == 0);
+                location.setLatitude(30.0 + i);
+                location.setLongitude(20.0 + i);
+                location.setSaga(saga);
+                entityManager.persist(location);
+                sagaLocations.add(location);
+            }
+            List<Song> sagaSongs = new ArrayList<>();
+            for (int i = 0; i < songs; i++) {
+                Song song = new Song();
+                song.setTitle(title + " Song " + i);
+                song.setTrackNumber(i + 1);
+                song.setDurationSeconds(120 + i % 180);
+                song.setThemes(List.of("Theme " + i % 10, "Theme " + (i + 3) % 10));
+                song.setSaga(saga);
+                song.setCharacters(new ArrayList<>(List.of(
+                    sagaCharacters.get(i % characters), sagaCharacters.get((i + 1) % characters))));
+                entityManager.persist(song);
+                sagaSongs.add(song);
+            }
+            for (int i = 0; i < events; i++) {
+                Event event = new Event();
+                event.setTitle(title + " Event " + i);
+                event.setSequenceOrder(i + 1);
+                event.setEventContext(new Event.EventContext("minor"));
+                event.setLocation(sagaLocations.get(i % locations));
+                event.setSaga(saga);
+                event.setCharacters(new ArrayList<>(List.of(sagaCharacters.get(i % characters))));
+                event.setSongs(new ArrayList<>(List.of(sagaSongs.get(i % songs))));
+                entityManager.persist(event);
+            }
+            return saga.getId();
+        });
+    }
+}
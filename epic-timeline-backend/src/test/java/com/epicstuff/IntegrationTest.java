@@ -0,0 +1,81 @@
+package com.epicstuff;
+
+import com.epicstuff.config.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Base class of the integration tests. Subclasses share one application
+ * context (so one database with the generated catalog) as long as they add
+ * no context configuration of their own.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({GeneratedCatalog.class, CapturedStatements.class})
+public abstract class IntegrationTest {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected GeneratedCatalog catalog;
+
+    @Autowired
+    protected StatementCounter statementCounter;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    // Statements the action issued on this thread
+    protected int countStatements(Runnable action) {
+        statementCounter.begin(getClass().getSimpleName(), StatementCounter.UNLIMITED);
+        int count;
+        try {
+            action.run();
+        } finally {
+            count = statementCounter.end();
+        }
+        return count;
+    }
+
+    // Every second-level cache region: JPA's Cache.evictAll() leaves collection and query regions warm
+    protected void evictSecondLevelCache() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    // H2 keeps per-statement counts while QUERY_STATISTICS is on; switching it off drops them
+    protected void resetQueryStatistics() {
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+    }
+
+    // Rows read since resetQueryStatistics()
+    protected long rowsRead() {
+        return sumOf("CUMULATIVE_ROW_COUNT", "%");
+    }
+
+    // Executions since resetQueryStatistics() of statements matching the LIKE pattern; every row
+    // of a JDBC batch is one execution
+    protected long executions(String sqlPattern) {
+        return sumOf("EXECUTION_COUNT", sqlPattern);
+    }
+
+    private long sumOf(String column, String sqlPattern) {
+        Long sum = jdbcTemplate.queryForObject(
+            "SELECT SUM(" + column + ") FROM INFORMATION_SCHEMA.QUERY_STATISTICS " +
+                "WHERE LOWER(SQL_STATEMENT) LIKE ? AND SQL_STATEMENT NOT LIKE '%QUERY_STATISTICS%'",
+            Long.class, sqlPattern.toLowerCase());
+        return sum == null ? 0 : sum;
+    }
+}
@@ -0,0 +1,47 @@
+package com.epicstuff.config;
+
+import com.epicstuff.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdminAccessInterceptorTest extends IntegrationTest {
+
+    @Autowired
+    private AdminAccessInterceptor adminAccessInterceptor;
+
+    // The test profile sets no token and doesn't waive it
+    @Test
+    void withoutATokenAdminIsClosed() throws Exception {
+        mockMvc.perform(get("/admin/slow-queries")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/sagas")).andExpect(status().isOk());
+    }
+
+    @Test
+    void withoutATokenOnlyAnExplicitWaiverOpensAdmin() throws Exception {
+        ReflectionTestUtils.setField(adminAccessInterceptor, "open", true);
+        try {
+            mockMvc.perform(get("/admin/slow-queries")).andExpect(status().isOk());
+        } finally {
+            ReflectionTestUtils.setField(adminAccessInterceptor, "open", false);
+        }
+    }
+
+    @Test
+    void withATokenOnlyItsBearerIsServed() throws Exception {
+        ReflectionTestUtils.setField(adminAccessInterceptor, "token", "s3cret");
+        try {
+            mockMvc.perform(get("/admin/slow-queries")).andExpect(status().isUnauthorized());
+            mockMvc.perform(get("/admin/slow-queries").header(HttpHeaders.AUTHORIZATION, "Bearer wrong"))
+                .andExpect(status().isUnauthorized());
+            mockMvc.perform(get("/admin/slow-queries").header(HttpHeaders.AUTHORIZATION, "Bearer s3cret"))
+                .andExpect(status().isOk());
+        } finally {
+            ReflectionTestUtils.setField(adminAccessInterceptor, "token", "");
+        }
+    }
+}
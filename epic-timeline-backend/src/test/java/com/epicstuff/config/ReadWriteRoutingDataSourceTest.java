@@ -0,0 +1,60 @@
+package com.epicstuff.config;
+
+import com.epicstuff.IntegrationTest;
+import com.epicstuff.repository.SagaRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Both pools open the same in-memory database in tests; which one lent the
+// transaction's connection shows in their active connection counts
+class ReadWriteRoutingDataSourceTest extends IntegrationTest {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SagaRepository sagaRepository;
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaPool() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<Integer> active = readOnly.execute(status -> {
+            sagaRepository.count();
+            return activeConnections();
+        });
+        assertEquals(List.of(0, 1), active);
+    }
+
+    @Test
+    void readWriteTransactionsUseThePrimaryPool() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        List<Integer> active = readWrite.execute(status -> {
+            sagaRepository.count();
+            return activeConnections();
+        });
+        assertEquals(List.of(1, 0), active);
+    }
+
+    // Primary, then replica
+    private List<Integer> activeConnections() {
+        return List.of(primaryDataSource.getHikariPoolMXBean().getActiveConnections(),
+            replicaDataSource.getHikariPoolMXBean().getActiveConnections());
+    }
+}
@@ -0,0 +1,106 @@
+package com.epicstuff.config;
+
+import com.epicstuff.IntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// An abandoned request must give its connection back within a bounded time, whether it is stuck in
+// one long statement (the deadline) or reading a cursor that the container has timed out (cancel)
+class StatementDeadlinesTest extends IntegrationTest {
+
+    // 10^10 row pairs: runs far longer than any bound below unless it is cancelled
+    private static final String LONG_QUERY =
+        "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b WHERE a.X + b.X < 0";
+
+    @Autowired
+    private StatementDeadlineInterceptor statementDeadlineInterceptor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Test
+    void aStatementIsCancelledAtTheRequestDeadline() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HandlerMethod handler = new HandlerMethod(this, getClass().getDeclaredMethod("oneSecondHandler"));
+
+        long start = System.nanoTime();
+        statementDeadlineInterceptor.preHandle(request, response, handler);
+        try {
+            assertThrows(QueryTimeoutException.class, () -> jdbcTemplate.queryForObject(LONG_QUERY, Long.class));
+        } finally {
+            statementDeadlineInterceptor.afterCompletion(request, response, handler, null);
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3));
+        assertEquals(0, primaryDataSource.getHikariPoolMXBean().getActiveConnections());
+    }
+
+    // A stream has no deadline: it reads rows (here slowly, like a client that stopped reading)
+    // until the container times the request out and the interceptor cancels its scope. With lazy
+    // query execution H2 produces rows as next() asks for them, as a Postgres cursor fetches them
+    @Test
+    void aTimedOutStreamStopsReadingItsCursor() throws Exception {
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+        Executor later = CompletableFuture.delayedExecutor(300, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        statementDeadlineInterceptor.preProcess(request, () -> null);
+        try {
+            CompletableFuture.runAsync(() -> statementDeadlineInterceptor.handleTimeout(request, () -> null), later);
+            assertThrows(QueryTimeoutException.class, () -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (Statement settings = connection.createStatement()) {
+                    settings.execute("SET LAZY_QUERY_EXECUTION TRUE");
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.setFetchSize(500);
+                    try (ResultSet rows = statement.executeQuery("SELECT X FROM SYSTEM_RANGE(1, 1000000)")) {
+                        while (rows.next()) {
+                            sleep();
+                        }
+                    }
+                }
+                // Only reached if the read was not cancelled; a cancelled connection is evicted by
+                // Hikari (SQLTimeoutException), setting and all
+                try (Statement settings = connection.createStatement()) {
+                    settings.execute("SET LAZY_QUERY_EXECUTION FALSE");
+                }
+                return null;
+            }));
+        } finally {
+            statementDeadlineInterceptor.postProcess(request, () -> null, null);
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3));
+        assertEquals(0, primaryDataSource.getHikariPoolMXBean().getActiveConnections());
+    }
+
+    @QueryTimeout(1)
+    private void oneSecondHandler() {
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.epicstuff.controller;
+
+import com.epicstuff.IntegrationTest;
+import com.epicstuff.config.AdminAccessInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdminControllerTest extends IntegrationTest {
+
+    @Autowired
+    private AdminAccessInterceptor adminAccessInterceptor;
+
+    private Long sagaId;
+
+    @BeforeEach
+    void adminToken() {
+        ReflectionTestUtils.setField(adminAccessInterceptor, "token", "s3cret");
+        sagaId = catalog.largeSagaId();
+    }
+
+    @AfterEach
+    void restore() {
+        ReflectionTestUtils.setField(adminAccessInterceptor, "token", "");
+        jdbcTemplate.update("UPDATE saga_genres SET genre = 'Musical' WHERE saga_id = ? AND genre = 'Sea Shanty'", sagaId);
+        evictSecondLevelCache();
+    }
+
+    // A genre edited behind Hibernate's back is served stale until the collection region is evicted
+    @Test
+    void evictingTheCacheServesCollectionsEditedInTheDatabase() throws Exception {
+        mockMvc.perform(get("/sagas/{id}", sagaId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.genres", hasItem("Musical")));
+        jdbcTemplate.update("UPDATE saga_genres SET genre = 'Sea Shanty' WHERE saga_id = ? AND genre = 'Musical'", sagaId);
+        mockMvc.perform(get("/sagas/{id}", sagaId))
+            .andExpect(jsonPath("$.genres", hasItem("Musical")));
+
+        mockMvc.perform(delete("/admin/cache").header(HttpHeaders.AUTHORIZATION, "Bearer s3cret"))
+            .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/sagas/{id}", sagaId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.genres", hasItem("Sea Shanty")))
+            .andExpect(jsonPath("$.genres", not(hasItem("Musical"))));
+    }
+}
@@ -0,0 +1,93 @@
+package com.epicstuff.controller;
+
+import com.epicstuff.IntegrationTest;
+import com.epicstuff.config.QueryBudgetInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Detail endpoints write the whole graph their JSON shows; nothing comes back null for being unloaded.
+// Every test starts with all second-level cache regions empty, so collections really are fetched
+class DetailViewTest extends IntegrationTest {
+
+    @Autowired
+    private QueryBudgetInterceptor queryBudgetInterceptor;
+
+    // Cold statement counts: the root, then one statement per collection or association the
+    // detail plan initializes that is not already in the persistence context
+    private static final int SONG_STATEMENTS = 10;
+    private static final int EVENT_STATEMENTS = 17;
+    private static final int LOCATION_STATEMENTS = 16;
+
+    private Long sagaId;
+
+    @BeforeEach
+    void coldCache() {
+        sagaId = catalog.largeSagaId();
+        evictSecondLevelCache();
+    }
+
+    @Test
+    void songDetailIncludesTheSagaCollectionsAndCharacterAliases() throws Exception {
+        mockMvc.perform(get("/songs/{id}", firstId("songs")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.saga.genres", hasItem("Musical")))
+            .andExpect(jsonPath("$.saga.inspirations", hasItem("The Odyssey")))
+            .andExpect(jsonPath("$.characters[0].aliases").isArray())
+            .andExpect(jsonPath("$.characters[0].powers").isArray())
+            .andExpect(jsonPath("$.themes").isArray());
+        assertEquals(SONG_STATEMENTS, lastStatements("GET /songs/{id}"));
+    }
+
+    @Test
+    void expandNarrowsTheDetailPlanButKeepsWhatTheNamedAssociationEmbeds() throws Exception {
+        mockMvc.perform(get("/songs/{id}", firstId("songs")).param("expand", "saga"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.saga.genres", hasItem("Musical")))
+            .andExpect(jsonPath("$.characters").doesNotExist());
+        mockMvc.perform(get("/songs/{id}", firstId("songs")).param("expand", "saga.genres"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void eventDetailIncludesNestedSongsAndCharacters() throws Exception {
+        mockMvc.perform(get("/events/{id}", firstId("events")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.location.alternativeNames").isArray())
+            .andExpect(jsonPath("$.location.saga.genres", hasItem("Musical")))
+            .andExpect(jsonPath("$.characters[0].aliases").isArray())
+            .andExpect(jsonPath("$.songs[0].themes").isArray())
+            .andExpect(jsonPath("$.songs[0].characters[0].powers").isArray())
+            .andExpect(jsonPath("$.songs[0].saga.themes", hasItem("Loyalty")));
+        assertEquals(EVENT_STATEMENTS, lastStatements("GET /events/{id}"));
+    }
+
+    @Test
+    void locationDetailIncludesWhatItsEventsEmbed() throws Exception {
+        mockMvc.perform(get("/locations/{id}", firstId("locations")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.saga.genres", hasItem("Musical")))
+            .andExpect(jsonPath("$.events[0].characters[0].aliases").isArray())
+            .andExpect(jsonPath("$.events[0].songs[0].saga.genres", hasItem("Musical")))
+            .andExpect(jsonPath("$.events[0].songs[0].characters[0].aliases").isArray());
+        assertEquals(LOCATION_STATEMENTS, lastStatements("GET /locations/{id}"));
+    }
+
+    // Statements behind the endpoint's latest request
+    private int lastStatements(String endpoint) {
+        Map<?, ?> stats = (Map<?, ?>) queryBudgetInterceptor.report().get(endpoint);
+        return ((Number) stats.get("lastStatements")).intValue();
+    }
+
+    private Long firstId(String table) {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM " + table + " WHERE saga_id = ?", Long.class, sagaId);
+    }
+}
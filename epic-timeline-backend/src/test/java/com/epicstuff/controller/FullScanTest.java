@@ -0,0 +1,94 @@
+package com.epicstuff.controller;
+
+import com.epicstuff.CapturedStatements;
+import com.epicstuff.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Every statement behind the keyed endpoints must reach the generated catalog through an index:
+// each SELECT is replayed under H2's EXPLAIN, and a table scan fails the test
+class FullScanTest extends IntegrationTest {
+
+    // {saga} is the large generated saga; the other ids belong to it
+    private static final List<String> REQUESTS = List.of(
+        "/songs?sagaId={saga}",
+        "/songs/{song}",
+        "/songs/{song}/characters",
+        "/songs/by-saga/{saga}",
+        "/songs/by-character/{character}",
+        "/songs/seek?sortBy=title&size=20",
+        "/sagas/{saga}",
+        "/sagas/{saga}/songs?size=100",
+        "/sagas/{saga}/characters",
+        "/sagas/{saga}/events",
+        "/sagas/{saga}/locations",
+        "/locations/{location}",
+        "/locations/seek?sortBy=name&size=20",
+        "/events?sagaId={saga}",
+        "/events/{event}");
+
+    @Autowired
+    private CapturedStatements capturedStatements;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Test
+    void keyedEndpointsNeverScanATable() throws Exception {
+        Long sagaId = catalog.largeSagaId();
+        jdbcTemplate.execute("ANALYZE");
+
+        List<String> scans = new ArrayList<>();
+        for (String request : REQUESTS) {
+            String uri = request
+                .replace("{saga}", sagaId.toString())
+                .replace("{song}", firstId("songs", sagaId).toString())
+                .replace("{character}", firstId("characters", sagaId).toString())
+                .replace("{location}", firstId("locations", sagaId).toString())
+                .replace("{event}", firstId("events", sagaId).toString());
+            responseCache.clear();
+            // Collection regions too, or their loads never reach the database to be explained
+            evictSecondLevelCache();
+            List<CapturedStatements.Statement> statements = capturedStatements.capture(
+                () -> mockMvc.perform(get(uri)).andExpect(status().isOk()));
+            for (CapturedStatements.Statement statement : statements) {
+                if (!statement.sql().stripLeading().toLowerCase().startsWith("select")) {
+                    continue;
+                }
+                String plan = explain(statement);
+                if (plan.contains("tableScan")) {
+                    scans.add(uri + "\n" + plan);
+                }
+            }
+        }
+        assertTrue(scans.isEmpty(), "Table scans:\n" + String.join("\n\n", scans));
+    }
+
+    private String explain(CapturedStatements.Statement statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+                statement.bind(explain);
+                try (ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Cannot explain " + statement.sql(), e);
+            }
+        });
+    }
+
+    private Long firstId(String table, Long sagaId) {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM " + table + " WHERE saga_id = ?", Long.class, sagaId);
+    }
+}
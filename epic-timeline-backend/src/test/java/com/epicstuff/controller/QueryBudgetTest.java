@@ -0,0 +1,118 @@
+package com.epicstuff.controller;
+
+import com.epicstuff.IntegrationTest;
+import com.epicstuff.config.QueryBudget;
+import com.epicstuff.config.QueryBudgetInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Every @QueryBudget against the generated catalog, each request with cold caches. The test
+// profile runs in strict mode, so a request over its budget fails; so does a budgeted endpoint
+// missing from the list below
+class QueryBudgetTest extends IntegrationTest {
+
+    // {saga} is the large generated saga; the other ids belong to it
+    private static final List<String> REQUESTS = List.of(
+        "/songs",
+        "/songs?sagaId={saga}",
+        "/songs?expand=saga,characters,themes",
+        "/songs/filter?size=100&expand=saga,characters,themes",
+        "/songs/filter?size=100&fields=title,durationSeconds",
+        "/songs/seek?size=100&expand=saga,characters,themes",
+        "/songs/{song}",
+        "/songs/{song}/characters",
+        "/songs/{song}/stats",
+        "/songs/by-saga/{saga}",
+        "/songs/by-character/{character}",
+        "/sagas",
+        "/sagas?expand=genres,themes,inspirations",
+        "/sagas/seek?expand=genres,themes,inspirations",
+        "/sagas/{saga}",
+        "/sagas/{saga}/stats",
+        "/sagas/{saga}/songs?size=100",
+        "/sagas/{saga}/characters",
+        "/sagas/{saga}/events",
+        "/sagas/{saga}/locations",
+        "/locations",
+        "/locations?expand=saga,events,alternativeNames,notableFeatures",
+        "/locations/seek?expand=saga,events,alternativeNames,notableFeatures",
+        "/locations/{location}",
+        "/locations/search?name=a&expand=saga,events,alternativeNames,notableFeatures",
+        "/locations/real",
+        "/locations/mythological",
+        "/events?expand=location,saga,characters,songs",
+        "/events?sagaId={saga}",
+        "/events/{event}");
+
+    @Autowired
+    private QueryBudgetInterceptor queryBudgetInterceptor;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Test
+    void everyBudgetedEndpointStaysWithinItsBudget() throws Exception {
+        Long sagaId = catalog.largeSagaId();
+        List<String> failures = new ArrayList<>();
+
+        queryBudgetInterceptor.reset();
+        for (String request : REQUESTS) {
+            String uri = request
+                .replace("{saga}", sagaId.toString())
+                .replace("{song}", firstId("songs", sagaId).toString())
+                .replace("{character}", firstId("characters", sagaId).toString())
+                .replace("{location}", firstId("locations", sagaId).toString())
+                .replace("{event}", firstId("events", sagaId).toString());
+            responseCache.clear();
+            evictSecondLevelCache();
+            try {
+                int status = mockMvc.perform(get(uri)).andReturn().getResponse().getStatus();
+                if (status != 200) {
+                    failures.add(uri + " returned " + status);
+                }
+            } catch (Exception e) {
+                failures.add(uri + " failed: " + e.getMessage());
+            }
+        }
+
+        Map<String, Object> report = queryBudgetInterceptor.report();
+        handlerMapping.getHandlerMethods().forEach((mapping, method) -> {
+            QueryBudget budget = method.getMethodAnnotation(QueryBudget.class);
+            if (budget == null || !mapping.getMethodsCondition().getMethods().contains(RequestMethod.GET)) {
+                return;
+            }
+            for (String pattern : mapping.getPatternValues()) {
+                String endpoint = "GET " + pattern;
+                Map<?, ?> stats = (Map<?, ?>) report.get(endpoint);
+                if (stats == null) {
+                    failures.add(endpoint + " was not requested");
+                    continue;
+                }
+                System.out.println("// [DONE] Query budget " + endpoint + ": at most " + stats.get("maxStatements")
+                    + " of " + budget.value() + " statements");
+                if (((Number) stats.get("overBudget")).longValue() > 0) {
+                    failures.add(endpoint + " issued " + stats.get("maxStatements") + " statements, budget is " + budget.value());
+                }
+            }
+        });
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    private Long firstId(String table, Long sagaId) {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM " + table + " WHERE saga_id = ?", Long.class, sagaId);
+    }
+}
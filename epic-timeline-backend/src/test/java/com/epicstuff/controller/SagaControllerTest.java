@@ -0,0 +1,42 @@
+package com.epicstuff.controller;
+
+import com.epicstuff.GeneratedCatalog;
+import com.epicstuff.IntegrationTest;
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SagaControllerTest extends IntegrationTest {
+
+    @Test
+    void sortingByACollectionIsABadRequest() throws Exception {
+        mockMvc.perform(get("/sagas").param("sortBy", "genres")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/sagas").param("sortBy", "songs")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/songs/filter").param("sortBy", "characters")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void releaseDateBoundsAreInclusiveDates() throws Exception {
+        // Seeded sagas are released 2022-12-25, 2023-01-15, 2023-02-14 and 2023-03-15
+        mockMvc.perform(get("/sagas").param("releasedAfter", "2023-01-15").param("releasedBefore", "2023-02-14"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    void releaseDateBoundThatIsNotADateIsABadRequest() throws Exception {
+        mockMvc.perform(get("/sagas").param("releasedAfter", "2023-1-5")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void subResourcePagesAreCappedAtAHundredRows() throws Exception {
+        Long sagaId = catalog.largeSagaId();
+        mockMvc.perform(get("/sagas/{id}/songs", sagaId).param("size", "1000000"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.size").value(100))
+            .andExpect(jsonPath("$.numberOfElements").value(100))
+            .andExpect(jsonPath("$.totalElements").value(GeneratedCatalog.LARGE_SAGA_SONGS));
+    }
+}
@@ -0,0 +1,34 @@
+package com.epicstuff.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void shortTextIsStoredRawBehindAMarker() {
+        byte[] column = converter.convertToDatabaseColumn("Odysseus");
+        assertEquals(9, column.length);
+        assertEquals("Odysseus", converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void longTextIsDeflated() {
+        String text = "The wine-dark sea. ".repeat(100);
+        byte[] column = converter.convertToDatabaseColumn(text);
+        assertTrue(column.length < text.length() / 4);
+        assertEquals(text, converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void unmarkedLegacyBytesAreReadAsUtf8() {
+        String legacy = "Ithaca, home — at last";
+        assertEquals(legacy, converter.convertToEntityAttribute(legacy.getBytes(StandardCharsets.UTF_8)));
+    }
+}
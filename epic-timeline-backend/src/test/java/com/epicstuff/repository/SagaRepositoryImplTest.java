@@ -0,0 +1,44 @@
+package com.epicstuff.repository;
+
+import com.epicstuff.GeneratedCatalog;
+import com.epicstuff.IntegrationTest;
+import com.epicstuff.model.Saga;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SagaRepositoryImplTest extends IntegrationTest {
+
+    @Autowired
+    private SagaRepository sagaRepository;
+
+    @Test
+    void findByIdWithRelationsReadsTheSumOfTheCollectionsNotTheirProduct() {
+        Long sagaId = catalog.largeSagaId();
+        AtomicReference<Optional<Saga>> loaded = new AtomicReference<>();
+
+        resetQueryStatistics();
+        int statements = countStatements(() -> loaded.set(sagaRepository.findByIdWithRelations(sagaId)));
+        long rows = rowsRead();
+
+        Saga saga = loaded.get().orElseThrow();
+        assertEquals(GeneratedCatalog.LARGE_SAGA_SONGS, saga.getSongs().size());
+        assertEquals(GeneratedCatalog.LARGE_SAGA_CHARACTERS, saga.getCharacters().size());
+        assertEquals(GeneratedCatalog.LARGE_SAGA_LOCATIONS, saga.getLocations().size());
+        assertEquals(GeneratedCatalog.LARGE_SAGA_EVENTS, saga.getEvents().size());
+        // One keyed query per collection, each returning one row per child
+        assertEquals(4, statements);
+        assertEquals(GeneratedCatalog.LARGE_SAGA_SONGS + GeneratedCatalog.LARGE_SAGA_CHARACTERS
+            + GeneratedCatalog.LARGE_SAGA_LOCATIONS + GeneratedCatalog.LARGE_SAGA_EVENTS, rows);
+    }
+
+    @Test
+    void findByIdWithRelationsReturnsEmptyForAnUnknownSaga() {
+        assertTrue(sagaRepository.findByIdWithRelations(-1L).isEmpty());
+    }
+}
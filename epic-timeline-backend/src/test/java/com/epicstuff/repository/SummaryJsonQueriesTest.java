@@ -0,0 +1,105 @@
+package com.epicstuff.repository;
+
+import com.epicstuff.IntegrationTest;
+import com.epicstuff.dto.SagaFilterRequest;
+import com.epicstuff.dto.SongSummary;
+import com.epicstuff.service.SongService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// epic.fast-json.* may be switched either way, so both paths must write the same bytes
+class SummaryJsonQueriesTest extends IntegrationTest {
+
+    @Autowired
+    private SummaryJsonQueries summaryJsonQueries;
+
+    @Autowired
+    private SongService songService;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private SagaRepository sagaRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    interface Content {
+        void writeTo(JsonGenerator json) throws IOException;
+    }
+
+    @Test
+    void songsMatchTheEntityPath() throws Exception {
+        catalog.ensureGenerated();
+        assertArrayEquals(objectMapper.writeValueAsBytes(songService.findAllSummaries()),
+            write(json -> summaryJsonQueries.writeSongs(null, json)));
+    }
+
+    @Test
+    void songsOfASagaMatchTheEntityPath() throws Exception {
+        Long sagaId = catalog.largeSagaId();
+        assertArrayEquals(objectMapper.writeValueAsBytes(songService.findSummariesBySaga(sagaId)),
+            write(json -> summaryJsonQueries.writeSongs(sagaId, json)));
+    }
+
+    @Test
+    void sagaPagesMatchTheEntityPath() throws Exception {
+        catalog.ensureGenerated();
+        for (Pageable pageable : List.of(PageRequest.of(0, 10, Sort.by("id")),
+                PageRequest.of(2, 7, Sort.by(Sort.Direction.DESC, "title")))) {
+            assertArrayEquals(
+                objectMapper.writeValueAsBytes(sagaRepository.findSummariesWithFilter(new SagaFilterRequest(), pageable)),
+                write(json -> summaryJsonQueries.writeSagaPage(pageable, json)));
+        }
+    }
+
+    @Test
+    void locationsMatchTheEntityPath() throws Exception {
+        catalog.ensureGenerated();
+        assertArrayEquals(objectMapper.writeValueAsBytes(locationRepository.findAllSummaries()),
+            write(summaryJsonQueries::writeLocations));
+    }
+
+    @Test
+    void streamedSongsMatchTheListedOnes() {
+        Long sagaId = catalog.largeSagaId();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<SongSummary> streamed = readOnly.execute(status -> {
+            try (Stream<SongSummary> songs = songRepository.streamSummaries(sagaId)) {
+                return songs.toList();
+            }
+        });
+        assertEquals(songService.findSummariesBySaga(sagaId), streamed);
+    }
+
+    private byte[] write(Content content) throws IOException {
+        ByteArrayBuilder buffer = new ByteArrayBuilder();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(buffer)) {
+            content.writeTo(json);
+        }
+        return buffer.toByteArray();
+    }
+}
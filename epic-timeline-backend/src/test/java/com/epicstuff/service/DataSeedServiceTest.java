@@ -0,0 +1,29 @@
+package com.epicstuff.service;
+
+import com.epicstuff.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DataSeedServiceTest extends IntegrationTest {
+
+    @Autowired
+    private DataSeedService dataSeedService;
+
+    // epic.seed.reseed is off outside the h2file profile
+    @Test
+    void anOlderSeedVersionKeepsTheCatalogWithoutOptIn() throws Exception {
+        catalog.ensureGenerated();
+        Long songs = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM songs", Long.class);
+        jdbcTemplate.update("UPDATE seed_version SET version = ? WHERE dataset = 'epic'", DataSeedService.DATASET_VERSION - 1);
+        try {
+            dataSeedService.run();
+            assertEquals(songs, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM songs", Long.class));
+            assertEquals(DataSeedService.DATASET_VERSION - 1,
+                jdbcTemplate.queryForObject("SELECT version FROM seed_version WHERE dataset = 'epic'", Integer.class));
+        } finally {
+            jdbcTemplate.update("UPDATE seed_version SET version = ? WHERE dataset = 'epic'", DataSeedService.DATASET_VERSION);
+        }
+    }
+}
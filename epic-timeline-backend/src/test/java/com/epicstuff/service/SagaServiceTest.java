@@ -0,0 +1,39 @@
+package com.epicstuff.service;
+
+import com.epicstuff.IntegrationTest;
+import com.epicstuff.dto.SagaUpdateRequest;
+import com.epicstuff.repository.FetchPlan;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SagaServiceTest extends IntegrationTest {
+
+    @Autowired
+    private SagaService sagaService;
+
+    @Test
+    void changingOneGenreDeletesOneRowAndInsertsOne() {
+        catalog.ensureGenerated();
+        Long sagaId = jdbcTemplate.queryForObject(
+            "SELECT id FROM sagas WHERE title = 'Generated Saga 0'", Long.class);
+        SagaUpdateRequest request = new SagaUpdateRequest();
+        request.setGenres(List.of("Musical", "Rock", "Jazz"));
+        evictSecondLevelCache();
+
+        resetQueryStatistics();
+        int statements = countStatements(() -> sagaService.updateSaga(sagaId, request, null, FetchPlan.NONE));
+
+        // Saga, its genres, the version bump, one DELETE and one INSERT; replacing the
+        // collection would delete all three rows and insert three
+        assertEquals(5, statements);
+        assertEquals(1, executions("delete from saga_genres%"));
+        assertEquals(1, executions("insert into saga_genres%"));
+        assertEquals(Set.of("Musical", "Rock", "Jazz"), Set.copyOf(jdbcTemplate.queryForList(
+            "SELECT genre FROM saga_genres WHERE saga_id = ?", String.class, sagaId)));
+    }
+}
@@ -0,0 +1,80 @@
+package com.epicstuff.service;
+
+import com.epicstuff.IntegrationTest;
+import com.epicstuff.dto.SongCharacterLinkBatchRequest;
+import com.epicstuff.dto.SongCharacterLinkBatchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// The competing link is inserted on a second connection and committed while link()'s INSERT waits
+// on its row lock, which is the interleaving two simultaneous identical requests can produce
+class SongCharacterLinkServiceTest extends IntegrationTest {
+
+    @Autowired
+    private SongCharacterLinkService songCharacterLinkService;
+
+    private Long songId;
+    private Long characterId;
+
+    @BeforeEach
+    void unlinkedPair() {
+        Long sagaId = catalog.largeSagaId();
+        songId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM songs WHERE saga_id = ?", Long.class, sagaId);
+        // A character of another saga is never linked to the large saga's songs
+        characterId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM characters WHERE saga_id <> ?", Long.class, sagaId);
+    }
+
+    @AfterEach
+    void unlink() {
+        jdbcTemplate.update("DELETE FROM song_characters WHERE song_id = ? AND character_id = ?", songId, characterId);
+    }
+
+    @Test
+    void linkRacingAnIdenticalLinkReportsAlreadyLinked() throws Exception {
+        assertFalse(whileLinkedElsewhere(() -> songCharacterLinkService.link(songId, characterId)));
+        assertEquals(1, links());
+    }
+
+    @Test
+    void batchRacingAnIdenticalLinkCountsItAsAlreadyLinked() throws Exception {
+        SongCharacterLinkBatchRequest request = new SongCharacterLinkBatchRequest(
+            List.of(new SongCharacterLinkBatchRequest.Link(songId, characterId)), List.of());
+        SongCharacterLinkBatchResult result = whileLinkedElsewhere(() -> songCharacterLinkService.applyBatch(request));
+        assertEquals(0, result.added());
+        assertEquals(1, links());
+    }
+
+    private <T> T whileLinkedElsewhere(Supplier<T> action) throws Exception {
+        try (Connection other = jdbcTemplate.getDataSource().getConnection()) {
+            other.setAutoCommit(false);
+            try (PreparedStatement insert = other.prepareStatement(
+                    "INSERT INTO song_characters (song_id, character_id) VALUES (?, ?)")) {
+                insert.setLong(1, songId);
+                insert.setLong(2, characterId);
+                insert.executeUpdate();
+            }
+            CompletableFuture<T> result = CompletableFuture.supplyAsync(action);
+            // Well under H2's lock timeout, long enough for the INSERT to be waiting
+            Thread.sleep(300);
+            other.commit();
+            return result.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private int links() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM song_characters WHERE song_id = ? AND character_id = ?",
+            Integer.class, songId, characterId);
+    }
+}
@@ -0,0 +1,104 @@
+package com.epicstuff.service;
+
+import com.epicstuff.Benchmarks;
+import com.epicstuff.IntegrationTest;
+import com.epicstuff.model.Character;
+import com.epicstuff.model.Saga;
+import com.epicstuff.model.Song;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bulk insert benchmark: seeds epic.benchmark.songs songs (100k by default), each
+ * with two themes and two song_characters rows, and reports JDBC statements
+ * prepared and wall time. Runs against its own in-memory database so the other
+ * benchmarks keep the generated catalog as it is.
+ */
+@Tag(Benchmarks.TAG)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:epictimeline-seed-benchmark")
+class SongSeedBenchmarkTest extends IntegrationTest {
+
+    // Songs per transaction; the persistence context is flushed and cleared after each chunk
+    private static final int CHUNK_SIZE = 1000;
+
+    @Value("${epic.benchmark.songs:100000}")
+    private int songCount;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Test
+    void seedSongs() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        long start = System.nanoTime();
+
+        Long sagaId = transactionTemplate.execute(status -> {
+            Saga saga = Saga.builder().title("Benchmark Saga").build();
+            entityManager.persist(saga);
+            return saga.getId();
+        });
+        List<Long> characterIds = transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                Character character = new Character();
+                character.setName("Benchmark Character " + i);
+                entityManager.persist(character);
+                ids.add(character.getId());
+            }
+            return ids;
+        });
+
+        for (int offset = 0; offset < songCount; offset += CHUNK_SIZE) {
+            int from = offset;
+            int to = Math.min(offset + CHUNK_SIZE, songCount);
+            transactionTemplate.executeWithoutResult(status -> {
+                Saga saga = entityManager.getReference(Saga.class, sagaId);
+                for (int i = from; i < to; i++) {
+                    Song song = new Song();
+                    song.setTitle("Benchmark Song " + i);
+                    song.setTrackNumber(i);
+                    song.setDurationSeconds(180 + i % 120);
+                    song.setThemes(new ArrayList<>(List.of("Theme " + i % 10, "Theme " + (i + 3) % 10)));
+                    song.setSaga(saga);
+                    song.setCharacters(new ArrayList<>(List.of(
+                        entityManager.getReference(Character.class, characterIds.get(i % 20)),
+                        entityManager.getReference(Character.class, characterIds.get((i + 7) % 20)))));
+                    entityManager.persist(song);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        catalogVersions.bumpAll();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("// [DONE] Benchmark seeded %d songs: %d entities inserted, %d JDBC statements prepared, %d ms%n",
+            songCount, statistics.getEntityInsertCount(), statistics.getPrepareStatementCount(), millis);
+        assertEquals(songCount + 21, statistics.getEntityInsertCount());
+    }
+}
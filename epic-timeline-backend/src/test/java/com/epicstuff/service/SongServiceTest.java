@@ -0,0 +1,34 @@
+package com.epicstuff.service;
+
+import com.epicstuff.IntegrationTest;
+import com.epicstuff.dto.SongSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class SongServiceTest extends IntegrationTest {
+
+    @Autowired
+    private SongService songService;
+
+    @Test
+    void summaryCharacterIdsAreInIdOrder() {
+        Long sagaId = catalog.largeSagaId();
+        assertCharacterIdsSorted(songService.findAllSummaries());
+        assertCharacterIdsSorted(songService.findSummariesBySaga(sagaId));
+    }
+
+    private static void assertCharacterIdsSorted(List<SongSummary> songs) {
+        assertFalse(songs.isEmpty());
+        for (SongSummary song : songs) {
+            List<Long> sorted = new ArrayList<>(song.characterIds());
+            sorted.sort(null);
+            assertEquals(sorted, song.characterIds(), "characterIds of song " + song.id());
+        }
+    }
+}
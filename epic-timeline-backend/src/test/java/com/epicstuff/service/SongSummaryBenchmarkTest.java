@@ -0,0 +1,50 @@
+package com.epicstuff.service;
+
+import com.epicstuff.Benchmarks;
+import com.epicstuff.IntegrationTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// GET /songs before (managed Song entities with saga and cast) and after (SongSummary records),
+// serialized inside a read-only transaction as open-in-view would
+@Tag(Benchmarks.TAG)
+class SongSummaryBenchmarkTest extends IntegrationTest {
+
+    @Autowired
+    private SongService songService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void summariesAllocateLessThanEntities() throws Exception {
+        catalog.ensureGenerated();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Benchmarks.Result entities = Benchmarks.measure(
+            () -> readOnly.execute(status -> write(songService.findAll())));
+        Benchmarks.Result summaries = Benchmarks.measure(
+            () -> readOnly.execute(status -> write(songService.findAllSummaries())));
+
+        System.out.println("// [DONE] Benchmark /songs entities: " + entities + ", summaries: " + summaries);
+        assertTrue(summaries.allocatedKbPerCall() < entities.allocatedKbPerCall());
+    }
+
+    private byte[] write(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.epicstuff.service;
+
+import com.epicstuff.Benchmarks;
+import com.epicstuff.IntegrationTest;
+import com.epicstuff.dto.SagaFilterRequest;
+import com.epicstuff.repository.LocationRepository;
+import com.epicstuff.repository.SagaRepository;
+import com.epicstuff.repository.SummaryJsonQueries;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+// Entity path vs JDBC-to-JsonGenerator path for the three summary listings; byte equality
+// of the two is covered by SummaryJsonQueriesTest
+@Tag(Benchmarks.TAG)
+class SummaryJsonBenchmarkTest extends IntegrationTest {
+
+    @Autowired
+    private SongService songService;
+
+    @Autowired
+    private SagaRepository sagaRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private SummaryJsonQueries summaryJsonQueries;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    interface Content {
+        void writeTo(JsonGenerator json) throws IOException;
+    }
+
+    @Test
+    void songs() throws Exception {
+        compare("/songs",
+            () -> objectMapper.writeValueAsBytes(songService.findAllSummaries()),
+            () -> write(json -> summaryJsonQueries.writeSongs(null, json)));
+    }
+
+    @Test
+    void sagas() throws Exception {
+        Pageable sagaPage = PageRequest.of(0, 10, Sort.by("id"));
+        compare("/sagas",
+            () -> objectMapper.writeValueAsBytes(sagaRepository.findSummariesWithFilter(new SagaFilterRequest(), sagaPage)),
+            () -> write(json -> summaryJsonQueries.writeSagaPage(sagaPage, json)));
+    }
+
+    @Test
+    void locations() throws Exception {
+        compare("/locations",
+            () -> objectMapper.writeValueAsBytes(locationRepository.findAllSummaries()),
+            () -> write(summaryJsonQueries::writeLocations));
+    }
+
+    private void compare(String endpoint, Callable<byte[]> entityPath, Callable<byte[]> jdbcPath) throws Exception {
+        catalog.ensureGenerated();
+        byte[] expected = entityPath.call();
+        assertArrayEquals(expected, jdbcPath.call());
+        Benchmarks.Result entity = Benchmarks.measure(entityPath);
+        Benchmarks.Result jdbc = Benchmarks.measure(jdbcPath);
+        System.out.println("// [DONE] Benchmark " + endpoint + " (" + expected.length + " bytes): entity " + entity
+            + ", jdbc " + jdbc);
+    }
+
+    private byte[] write(Content content) throws IOException {
+        ByteArrayBuilder buffer = new ByteArrayBuilder();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(buffer)) {
+            content.writeTo(json);
+        }
+        return buffer.toByteArray();
+    }
+}